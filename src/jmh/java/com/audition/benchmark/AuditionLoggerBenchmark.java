@@ -0,0 +1,104 @@
+package com.audition.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.audition.common.logging.AuditionLogger;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Per-call cost of the structured {@link AuditionLogger} statements against the concatenating calls they replaced, with
+ * the level {@code enabled} (written to a discarding stream) and {@code disabled}. Compare {@code gc.alloc.rate.norm}:
+ * it should be zero for the structured statements when {@code disabled}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditionLoggerBenchmark {
+
+    @Param({"enabled", "disabled"})
+    private String level;
+
+    private final AuditionLogger auditionLogger = new AuditionLogger();
+    private LoggerContext context;
+    private Logger logger;
+    private ProblemDetail problem;
+    private String operation;
+    private String key;
+    private RuntimeException cause;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+        final OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+        logger = context.getLogger(AuditionLoggerBenchmark.class);
+        logger.setAdditive(false);
+        logger.addAppender(output);
+        logger.setLevel("enabled".equals(level) ? ch.qos.logback.classic.Level.INFO
+            : ch.qos.logback.classic.Level.OFF);
+
+        problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_GATEWAY, "Upstream returned 502");
+        problem.setTitle("Bad Gateway");
+        problem.setInstance(URI.create("https://jsonplaceholder.typicode.com/posts/1"));
+        operation = "getPostById";
+        key = "post:1";
+        cause = new RuntimeException("connection reset", null, false, false) {
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void concatenatedProblemDetail() {
+        final String message = "ProblemDetail: type=" + problem.getType() + ", title=" + problem.getTitle()
+            + ", status=" + problem.getStatus() + ", detail=" + problem.getDetail() + ", instance="
+            + problem.getInstance();
+        if (logger.isErrorEnabled()) {
+            logger.error(message);
+        }
+    }
+
+    @Benchmark
+    public void structuredProblemDetail() {
+        auditionLogger.atError(logger).message("ProblemDetail:").problem(problem).log();
+    }
+
+    @Benchmark
+    public void concatenatedFields() {
+        auditionLogger.warn(logger, "serving last-known data for " + key + " in " + operation + ": "
+            + cause.getMessage());
+    }
+
+    @Benchmark
+    public void structuredFields() {
+        auditionLogger.atWarn(logger).message("serving last-known data").field("key", key)
+            .field("operation", operation).field("cause", cause.getMessage()).log();
+    }
+}
@@ -0,0 +1,197 @@
+package com.audition.benchmark;
+
+import com.audition.AuditionApplication;
+import com.audition.configuration.VirtualThreads;
+import com.audition.integration.AuditionIntegrationClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop load test of {@code GET /posts/{id}/comments}, platform threads against virtual threads. For each mode
+ * the application is started against a {@link StubUpstream} that answers after a fixed delay; each concurrency level
+ * then runs for a fixed time with every client sending its next request as soon as the previous one completes. Post
+ * ids are never reused, so every request misses the cache and goes upstream. In platform mode those misses load on
+ * {@value #LOAD_THREADS} cache load threads with {@value #LOAD_QUEUE_CAPACITY} queued, which caps the concurrent upstream
+ * calls; the cap is reported with each platform result.
+ *
+ * <p>Run with {@code ./gradlew loadTest} on JDK 21 with a raised open-file limit ({@code ulimit -n 65536}). Results
+ * are printed and written as JSON to {@code build/reports/loadtest/results.json}.
+ */
+public final class ConcurrencyLoadTest {
+
+    private static final long UPSTREAM_LATENCY_MILLIS = 100;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int LOAD_THREADS = 100;
+    private static final int LOAD_QUEUE_CAPACITY = 1_000;
+    private static final AtomicLong NEXT_POST_ID = new AtomicLong();
+
+    private ConcurrencyLoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int[] concurrencyLevels = args.length > 0
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[] {1_000, 10_000};
+        final List<Result> results = new ArrayList<>();
+        for (final boolean virtual : new boolean[] {false, true}) {
+            try (StubUpstream upstream = StubUpstream.start(newExecutor("stub-"))
+                    .respond("/comments", StubUpstream.commentsJson(5), hit -> UPSTREAM_LATENCY_MILLIS);
+                ConfigurableApplicationContext app = start(upstream, virtual)) {
+                final URI base = URI.create("http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port"));
+                for (final int concurrency : concurrencyLevels) {
+                    run(base, concurrency, WARMUP);
+                    final Samples samples = run(base, concurrency, MEASUREMENT);
+                    final Result result = samples.toResult(virtual ? "virtual" : "platform", virtual ? 0 : LOAD_THREADS,
+                        concurrency, MEASUREMENT);
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+        }
+        final File output = new File(System.getProperty("loadtest.results", "build/reports/loadtest/results.json"));
+        output.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, results);
+    }
+
+    private static ConfigurableApplicationContext start(final StubUpstream upstream, final boolean virtual)
+        throws ReflectiveOperationException {
+        final ConfigurableApplicationContext app = new SpringApplicationBuilder(AuditionApplication.class)
+            .properties(
+                "server.port=0",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=10000",
+                "application.virtual-threads.enabled=" + virtual,
+                "application.cache.load-threads=" + LOAD_THREADS,
+                "application.cache.load-queue-capacity=" + LOAD_QUEUE_CAPACITY,
+                "application.connection.transport=jdk",
+                "application.coalescing.enabled=false",
+                "application.http-logging.level=off",
+                "logging.level.root=warn")
+            .run();
+        final Field comments = AuditionIntegrationClient.class.getDeclaredField("COMMENTS_JSON");
+        comments.setAccessible(true);
+        comments.set(app.getBean(AuditionIntegrationClient.class), upstream.baseUrl() + "/comments");
+        return app;
+    }
+
+    private static Samples run(final URI base, final int concurrency, final Duration duration)
+        throws InterruptedException {
+        final ExecutorService executor = newExecutor("load-client-");
+        try {
+            final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+            final long deadline = System.nanoTime() + duration.toNanos();
+            final CountDownLatch done = new CountDownLatch(concurrency);
+            final Samples[] perClient = new Samples[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                perClient[i] = new Samples();
+                next(client, base, perClient[i], deadline, done);
+            }
+            done.await();
+            return Samples.merge(perClient);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void next(final HttpClient client, final URI base, final Samples samples, final long deadline,
+        final CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        final HttpRequest request = HttpRequest.newBuilder(
+                base.resolve("/posts/" + NEXT_POST_ID.incrementAndGet() + "/comments"))
+            .timeout(REQUEST_TIMEOUT)
+            .build();
+        final long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            samples.record(System.nanoTime() - start, error == null && response.statusCode() == 200);
+            next(client, base, samples, deadline, done);
+        });
+    }
+
+    private static ExecutorService newExecutor(final String prefix) {
+        return VirtualThreads.isSupported()
+            ? VirtualThreads.newThreadPerTaskExecutor(prefix)
+            : Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Latencies of successful requests and the error count. Each instance is written by one client at a time.
+     */
+    private static final class Samples {
+
+        private long[] latencies = new long[64];
+        private int count;
+        private long errors;
+
+        void record(final long latencyNanos, final boolean success) {
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        static Samples merge(final Samples[] all) {
+            final Samples merged = new Samples();
+            merged.latencies = new long[Arrays.stream(all).mapToInt(samples -> samples.count).sum()];
+            for (final Samples samples : all) {
+                System.arraycopy(samples.latencies, 0, merged.latencies, merged.count, samples.count);
+                merged.count += samples.count;
+                merged.errors += samples.errors;
+            }
+            Arrays.sort(merged.latencies);
+            return merged;
+        }
+
+        Result toResult(final String mode, final int loadThreads, final int concurrency, final Duration duration) {
+            return new Result(mode, loadThreads, concurrency, count, errors, count / (double) duration.toSeconds(),
+                percentileMillis(0.50), percentileMillis(0.99));
+        }
+
+        private double percentileMillis(final double percentile) {
+            if (count == 0) {
+                return Double.NaN;
+            }
+            return latencies[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * One concurrency level; {@code loadThreads} is the cache load pool size, 0 when loads run on virtual threads.
+     */
+    record Result(String mode, int loadThreads, int concurrency, long requests, long errors, double requestsPerSecond,
+                  double p50Millis, double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%-8s load-threads=%-4d concurrency=%-6d requests=%-8d errors=%-6d rps=%-9.1f p50=%.1fms p99=%.1fms",
+                mode, loadThreads, concurrency, requests, errors, requestsPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
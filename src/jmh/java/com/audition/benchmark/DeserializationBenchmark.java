@@ -0,0 +1,50 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Databinding of upstream array payloads with the application's {@link ObjectMapper} configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeserializationBenchmark {
+
+    @Param({"1", "100", "5000"})
+    private int elements;
+
+    private ObjectMapper objectMapper;
+    private byte[] posts;
+    private byte[] comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new WebServiceConfiguration().objectMapper();
+        posts = StubUpstream.postsJson(elements);
+        comments = StubUpstream.commentsJson(elements);
+    }
+
+    @Benchmark
+    public AuditionPost[] posts() throws IOException {
+        return objectMapper.readValue(posts, AuditionPost[].class);
+    }
+
+    @Benchmark
+    public Comment[] comments() throws IOException {
+        return objectMapper.readValue(comments, Comment[].class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.HedgingProperties;
+import com.audition.configuration.HttpClientProperties;
+import com.audition.configuration.HttpTransports;
+import com.audition.configuration.VirtualThreadProperties;
+import com.audition.integration.UpstreamHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * {@code GET /posts/1} against a stub that answers in 5 ms but stalls for 250 ms on every 50th request. Sample-time
+ * mode reports percentiles: compare {@code p0.99} with hedging off and on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class HedgingBenchmark {
+
+    private static final long FAST_MILLIS = 5;
+    private static final long SPIKE_MILLIS = 250;
+    private static final int SPIKE_EVERY = 50;
+
+    @Param({"false", "true"})
+    private boolean hedging;
+
+    private StubUpstream upstream;
+    private UpstreamHedger hedger;
+    private RestTemplate restTemplate;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstream = StubUpstream.start().respond("/posts/1", StubUpstream.postsJson(1),
+            hit -> hit % SPIKE_EVERY == 0 ? SPIKE_MILLIS : FAST_MILLIS);
+        final HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(hedging);
+        properties.setMinDelay(Duration.ofMillis(FAST_MILLIS));
+        properties.setMinSamples(50);
+        hedger = new UpstreamHedger(properties, new VirtualThreadProperties(), new SimpleMeterRegistry());
+        restTemplate = new RestTemplate(HttpTransports.jdk(new HttpClientProperties()));
+        url = upstream.baseUrl() + "/posts/1";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hedger.shutdown();
+        upstream.close();
+    }
+
+    @Benchmark
+    public String getPostById() {
+        return hedger.execute("post", () -> restTemplate.getForObject(url, String.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.HttpClientProperties;
+import com.audition.configuration.HttpTransport;
+import com.audition.configuration.HttpTransports;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Throughput of {@code GET /posts/1} against a local stub for each {@link HttpTransport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class HttpTransportBenchmark {
+
+    @Param({"SIMPLE", "POOLED", "JDK"})
+    private HttpTransport transport;
+
+    private StubUpstream upstream;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private RestTemplate restTemplate;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstream = StubUpstream.start().respond("/posts/1", StubUpstream.postsJson(1));
+        final HttpClientProperties properties = new HttpClientProperties();
+        properties.setTransport(transport);
+        connectionManager = HttpTransports.connectionManager(properties);
+        restTemplate = new RestTemplate(new BufferingClientHttpRequestFactory(
+            HttpTransports.create(properties, connectionManager)));
+        url = upstream.baseUrl() + "/posts/1";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionManager.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public String getPostById() {
+        return restTemplate.getForObject(url, String.class);
+    }
+}
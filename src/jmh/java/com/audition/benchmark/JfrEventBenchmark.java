@@ -0,0 +1,98 @@
+package com.audition.benchmark;
+
+import com.audition.common.jfr.CacheActivityEvent;
+import com.audition.common.jfr.JfrStatsCounter;
+import com.audition.common.jfr.UpstreamCallEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of the custom JFR events on the hottest path they sit on, a cache lookup, and of an upstream call event on its
+ * own. {@code recording} is {@code none} (no JFR), {@code jdk-only} (a recording without the audition events, as in
+ * production profiling with the default profile) or {@code audition} (the events enabled as by {@code audition.jfc}).
+ * With the events disabled, {@code instrumentedLookup} should match {@code plainLookup} within noise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JfrEventBenchmark {
+
+    private static final int KEYS = 1024;
+
+    @Param({"none", "jdk-only", "audition"})
+    private String recording;
+
+    private Recording jfr;
+    private String[] keys;
+    private Cache<String, String> plain;
+    private Cache<String, String> instrumented;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new String[KEYS];
+        plain = Caffeine.newBuilder().maximumSize(KEYS).recordStats().build();
+        instrumented = Caffeine.newBuilder().maximumSize(KEYS).recordStats(JfrStatsCounter.of("benchmark")).build();
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "key-" + i;
+            // every other key is a miss
+            if (i % 2 == 0) {
+                plain.put(keys[i], keys[i]);
+                instrumented.put(keys[i], keys[i]);
+            }
+        }
+        if (!"none".equals(recording)) {
+            jfr = new Recording();
+            jfr.enable("jdk.GarbageCollection");
+            if ("audition".equals(recording)) {
+                jfr.enable(CacheActivityEvent.class);
+                jfr.enable(UpstreamCallEvent.class).withoutThreshold();
+            }
+            jfr.setToDisk(false);
+            jfr.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    @Benchmark
+    public String plainLookup() {
+        return plain.getIfPresent(keys[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public String instrumentedLookup() {
+        return instrumented.getIfPresent(keys[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public void upstreamCallEvent() {
+        final UpstreamCallEvent event = new UpstreamCallEvent();
+        event.begin();
+        event.end();
+        if (event.shouldCommit()) {
+            event.route = "post";
+            event.urlTemplate = UpstreamCallEvent.template("https://jsonplaceholder.typicode.com/posts/1");
+            event.status = 200;
+            event.bytes = 292;
+            event.commit();
+        }
+    }
+}
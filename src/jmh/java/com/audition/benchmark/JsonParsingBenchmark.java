@@ -0,0 +1,55 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.integration.JsonArrays;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing a comment array response: the former String + array + {@code Arrays.asList} path against streaming
+ * element-by-element from the body {@code InputStream}. Compare {@code gc.alloc.rate.norm} (bytes per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonParsingBenchmark {
+
+    @Param({"10", "500", "50000"})
+    private int comments;
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new WebServiceConfiguration().objectMapper();
+        payload = StubUpstream.commentsJson(comments);
+    }
+
+    @Benchmark
+    public List<Comment> materialized() throws IOException {
+        final String jsonString = new String(payload, StandardCharsets.UTF_8);
+        return Arrays.asList(objectMapper.readValue(jsonString, Comment[].class));
+    }
+
+    @Benchmark
+    public void streamed(final Blackhole blackhole) throws IOException {
+        JsonArrays.forEach(objectMapper, new ByteArrayInputStream(payload), Comment.class, blackhole::consume);
+    }
+}
@@ -0,0 +1,137 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.HttpLoggingProperties;
+import com.audition.configuration.LoggingInterceptor;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Per-exchange cost of {@link LoggingInterceptor} on a comments payload, always sampled against rarely sampled, with
+ * the former buffer-everything-then-log path as the baseline. Compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggingInterceptorBenchmark {
+
+    @Param({"10", "500"})
+    private int comments;
+
+    private byte[] payload;
+    private HttpRequest request;
+    private ClientHttpRequestExecution execution;
+    private LoggingInterceptor alwaysSampled;
+    private LoggingInterceptor rarelySampled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payload = StubUpstream.commentsJson(comments);
+        request = new StaticRequest(URI.create("http://localhost/comments"));
+        execution = (req, body) -> new StaticResponse(payload);
+        alwaysSampled = new LoggingInterceptor(sampledAt(1.0));
+        rarelySampled = new LoggingInterceptor(sampledAt(0.01));
+    }
+
+    @Benchmark
+    public byte[] bufferedBaseline() throws IOException {
+        try (ClientHttpResponse response = execution.execute(request, new byte[0])) {
+            final byte[] body = StreamUtils.copyToByteArray(response.getBody());
+            new String(body, StandardCharsets.UTF_8);
+            return body;
+        }
+    }
+
+    @Benchmark
+    public byte[] alwaysSampled() throws IOException {
+        return exchange(alwaysSampled);
+    }
+
+    @Benchmark
+    public byte[] rarelySampled() throws IOException {
+        return exchange(rarelySampled);
+    }
+
+    private byte[] exchange(final LoggingInterceptor interceptor) throws IOException {
+        try (ClientHttpResponse response = interceptor.intercept(request, new byte[0], execution)) {
+            return StreamUtils.copyToByteArray(response.getBody());
+        }
+    }
+
+    private static HttpLoggingProperties sampledAt(final double rate) {
+        final HttpLoggingProperties properties = new HttpLoggingProperties();
+        properties.setBodySampleRate(rate);
+        return properties;
+    }
+
+    private record StaticRequest(URI uri) implements HttpRequest {
+
+        @Override
+        public HttpMethod getMethod() {
+            return HttpMethod.GET;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+    }
+
+    private record StaticResponse(byte[] payload) implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        @Deprecated
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(payload);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.audition.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.audition.common.logging.RingBufferAppender;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * What a log statement costs the calling thread when the output is slow: {@code sync} writes and flushes on the caller,
+ * as the console appender used to, {@code ring-buffer} only enqueues. The output stream parks for {@code flushMicros} on
+ * every flush to stand in for a congested stdout or pipe. With {@code ring-buffer} the score should stay flat as
+ * {@code flushMicros} grows, at the price of dropped INFO events once the buffer fills.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class LoggingPipelineBenchmark {
+
+    @Param({"sync", "ring-buffer"})
+    private String pipeline;
+
+    @Param({"0", "50"})
+    private long flushMicros;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+        final OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setName("output");
+        output.setEncoder(encoder);
+        output.setOutputStream(new SlowStream(TimeUnit.MICROSECONDS.toNanos(flushMicros)));
+        final Appender<ILoggingEvent> root;
+        if ("sync".equals(pipeline)) {
+            output.start();
+            root = output;
+        } else {
+            output.setImmediateFlush(false);
+            output.start();
+            final RingBufferAppender ringBuffer = new RingBufferAppender();
+            ringBuffer.setContext(context);
+            ringBuffer.setName("async");
+            ringBuffer.addAppender(output);
+            ringBuffer.start();
+            root = ringBuffer;
+        }
+        logger = context.getLogger(LoggingPipelineBenchmark.class);
+        logger.setAdditive(false);
+        logger.addAppender(root);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logInfo() {
+        logger.info("Fetched {} comments for post {}", 5, 42);
+    }
+
+    /**
+     * Discards what is written and parks on every flush.
+     */
+    private static final class SlowStream extends OutputStream {
+
+        private final long flushNanos;
+
+        SlowStream(final long flushNanos) {
+            this.flushNanos = flushNanos;
+        }
+
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+
+        @Override
+        public void flush() {
+            if (flushNanos > 0) {
+                LockSupport.parkNanos(flushNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.audition.benchmark;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.index.PostIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@code /posts?filterParam=} lookups: the original per-request stream filter against {@link PostIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostFilterBenchmark {
+
+    private static final String[] WORDS = {"sunt", "aut", "facere", "repellat", "provident", "occaecati", "excepturi",
+        "optio", "reprehenderit", "qui", "est", "esse", "ea", "molestias", "quasi", "exercitationem", "ipsa", "sit"};
+
+    @Param({"100", "10000", "1000000"})
+    private int posts;
+
+    @Param({"7", "provident occ"})
+    private String filterParam;
+
+    private List<AuditionPost> snapshot;
+    private PostIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = generate(posts);
+        index = PostIndex.of(snapshot);
+    }
+
+    @Benchmark
+    public List<AuditionPost> streamFilter() {
+        List<AuditionPost> result = snapshot;
+        if (filterParam.matches(".*\\d.*")) {
+            result = result.stream()
+                .filter(post -> post.getUserId() == Integer.parseInt(filterParam))
+                .toList();
+        } else if (filterParam.length() >= 2) {
+            result = result.stream()
+                .filter(post -> post.getTitle().contains(filterParam))
+                .toList();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<AuditionPost> indexedLookup() {
+        if (Character.isDigit(filterParam.charAt(0))) {
+            return index.findByUserId(Integer.parseInt(filterParam));
+        }
+        return index.findByTitleContaining(filterParam);
+    }
+
+    public static List<AuditionPost> generate(final int count) {
+        final SplittableRandom random = new SplittableRandom(42);
+        final List<AuditionPost> generated = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            final StringBuilder title = new StringBuilder();
+            for (int word = 0; word < 6; word++) {
+                if (word > 0) {
+                    title.append(' ');
+                }
+                title.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            generated.add(new AuditionPost(random.nextInt(Math.max(10, count / 10)) + 1, id, title.toString(),
+                "quia et suscipit suscipit recusandae consequuntur expedita et cum"));
+        }
+        return generated;
+    }
+}
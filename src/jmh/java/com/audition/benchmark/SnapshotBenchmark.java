@@ -0,0 +1,81 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.snapshot.Snapshot;
+import com.audition.service.snapshot.SnapshotFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Startup cost of restoring the full dataset ({@code posts} posts with five comments each) from the memory-mapped
+ * snapshot, against parsing the same data from upstream JSON, which is the floor for a cold start even before any
+ * network time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SnapshotBenchmark {
+
+    private static final int COMMENTS_PER_POST = 5;
+
+    @Param({"100", "10000"})
+    private int posts;
+
+    private ObjectMapper objectMapper;
+    private byte[] postsJson;
+    private byte[] commentsJson;
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new WebServiceConfiguration().objectMapper();
+        postsJson = StubUpstream.postsJson(posts);
+        commentsJson = StubUpstream.commentsJson(posts * COMMENTS_PER_POST);
+        path = Files.createTempFile("audition", ".snapshot");
+        SnapshotFile.write(path, new Snapshot(System.currentTimeMillis(), parsePosts(), parseComments()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public Snapshot mappedSnapshot() throws IOException {
+        return SnapshotFile.read(path);
+    }
+
+    @Benchmark
+    public Map<String, List<Comment>> upstreamJson() throws IOException {
+        parsePosts();
+        return parseComments();
+    }
+
+    private List<AuditionPost> parsePosts() throws IOException {
+        return List.of(objectMapper.readValue(postsJson, AuditionPost[].class));
+    }
+
+    private Map<String, List<Comment>> parseComments() throws IOException {
+        return Arrays.stream(objectMapper.readValue(commentsJson, Comment[].class))
+            .collect(Collectors.groupingBy(comment -> String.valueOf(comment.getPostId())));
+    }
+}
@@ -0,0 +1,113 @@
+package com.audition.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Minimal local stand-in for jsonplaceholder so benchmarks don't depend on the network.
+ */
+public final class StubUpstream implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong hits = new AtomicLong();
+
+    private StubUpstream(final HttpServer server, final ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static StubUpstream start() throws IOException {
+        return start(Executors.newFixedThreadPool(64));
+    }
+
+    /**
+     * Starts the stub handling exchanges on {@code executor}, which is shut down on {@link #close()}.
+     */
+    public static StubUpstream start(final ExecutorService executor) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 16_384);
+        server.setExecutor(executor);
+        server.start();
+        return new StubUpstream(server, executor);
+    }
+
+    public StubUpstream respond(final String path, final byte[] body) {
+        return respond(path, body, hit -> 0L);
+    }
+
+    /**
+     * Serves {@code body} on {@code path}, sleeping for {@code latencyMillis.apply(hitNumber)} before answering.
+     */
+    public StubUpstream respond(final String path, final byte[] body, final LongFunction<Long> latencyMillis) {
+        server.createContext(path, exchange -> handle(exchange, body, latencyMillis.apply(hits.incrementAndGet())));
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(final HttpExchange exchange, final byte[] body, final long latencyMillis) throws IOException {
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    public static byte[] postsJson(final int count) {
+        final StringBuilder json = new StringBuilder(count * 160).append('[');
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"userId\":").append(i % 10 + 1)
+                .append(",\"id\":").append(i)
+                .append(",\"title\":\"sunt aut facere repellat provident occaecati ").append(i)
+                .append("\",\"body\":\"quia et suscipit suscipit recusandae consequuntur expedita et cum reprehenderit\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] commentsJson(final int count) {
+        final StringBuilder json = new StringBuilder(count * 200).append('[');
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"postId\":").append(i % 100 + 1)
+                .append(",\"id\":").append(i)
+                .append(",\"name\":\"id labore ex et quam laborum ").append(i)
+                .append("\",\"email\":\"Eliseo@gardner.biz\"")
+                .append(",\"body\":\"laudantium enim quasi est quidem magnam voluptate ipsam eos tempora quo necessitatibus\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
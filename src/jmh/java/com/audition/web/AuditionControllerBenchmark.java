@@ -0,0 +1,78 @@
+package com.audition.web;
+
+import com.audition.benchmark.PostFilterBenchmark;
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.HttpCacheProperties;
+import com.audition.configuration.ResponseCacheProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.service.AuditionService;
+import com.audition.service.ContentVersions;
+import com.audition.service.index.PostIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * {@link AuditionController#getPosts(String, ListOptions, String)} dispatch on {@code filterParam}, over a service backed directly
+ * by a {@link PostIndex}, so only the controller's branching, the index lookups and the response cache lookup are
+ * measured. The benchmark lives in the controller's package to reach its injected fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditionControllerBenchmark {
+
+    @Param({"", "7", "provident occ"})
+    private String filterParam;
+
+    private AuditionController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<AuditionPost> posts = PostFilterBenchmark.generate(10_000);
+        final PostIndex index = PostIndex.of(posts);
+        controller = new AuditionController();
+        controller.contentVersions = new ContentVersions();
+        controller.httpCacheProperties = new HttpCacheProperties();
+        controller.phaseTimers = new PhaseTimers(new SimpleMeterRegistry());
+        controller.serializedResponseCache = new SerializedResponseCache(new WebServiceConfiguration().objectMapper(),
+            new ResponseCacheProperties(), controller.phaseTimers);
+        controller.auditionService = new AuditionService() {
+            @Override
+            public long postsVersion(final boolean filtered) {
+                return 1;
+            }
+
+            @Override
+            public List<AuditionPost> getPosts() {
+                return posts;
+            }
+
+            @Override
+            public List<AuditionPost> getPostsByUserId(final int userId) {
+                return index.findByUserId(userId);
+            }
+
+            @Override
+            public List<AuditionPost> getPostsByTitle(final String titleFragment) {
+                return index.findByTitleContaining(titleFragment);
+            }
+        };
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getPosts() {
+        return controller.getPosts(filterParam, ListOptions.NONE, null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.audition.web;
+
+import com.audition.benchmark.PostFilterBenchmark;
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.HttpCacheProperties;
+import com.audition.configuration.ResponseCacheProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.service.AuditionService;
+import com.audition.service.ContentVersions;
+import com.audition.service.index.PostIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Requests per second of {@code GET /posts} (100 posts) without and with a userId filter, the response body written to
+ * a discarding stream as the servlet container would, with the serialized response cache on and off. With the cache
+ * off every request runs Jackson over the result list; with it on, unchanged data is a lookup and a byte copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializedResponseBenchmark {
+
+    @Param({"", "7"})
+    private String filterParam;
+
+    @Param({"false", "true"})
+    private boolean responseCache;
+
+    @Param({"", "gzip"})
+    private String acceptEncoding;
+
+    private AuditionController controller;
+    private OutputStream servletOutput;
+
+    @Setup(Level.Trial)
+    public void setUp(final Blackhole blackhole) {
+        final List<AuditionPost> posts = PostFilterBenchmark.generate(100);
+        final PostIndex index = PostIndex.of(posts);
+        final ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(responseCache);
+        controller = new AuditionController();
+        controller.contentVersions = new ContentVersions();
+        controller.httpCacheProperties = new HttpCacheProperties();
+        controller.phaseTimers = new PhaseTimers(new SimpleMeterRegistry());
+        controller.serializedResponseCache = new SerializedResponseCache(new WebServiceConfiguration().objectMapper(),
+            properties, controller.phaseTimers);
+        controller.auditionService = new AuditionService() {
+            @Override
+            public long postsVersion(final boolean filtered) {
+                return 1;
+            }
+
+            @Override
+            public List<AuditionPost> getPosts() {
+                return posts;
+            }
+
+            @Override
+            public List<AuditionPost> getPostsByUserId(final int userId) {
+                return index.findByUserId(userId);
+            }
+        };
+        servletOutput = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                blackhole.consume(b);
+            }
+        };
+    }
+
+    @Benchmark
+    public void getPosts() throws IOException {
+        servletOutput.write(controller.getPosts(filterParam, ListOptions.NONE, acceptEncoding.isEmpty() ? null : acceptEncoding).getBody());
+    }
+}
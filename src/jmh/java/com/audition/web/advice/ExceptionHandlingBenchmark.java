@@ -0,0 +1,85 @@
+package com.audition.web.advice;
+
+import com.audition.common.exception.ExpectedException;
+import com.audition.common.exception.SystemException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Cost of the error path: building a {@link SystemException} (dominated by the stack trace fill) and turning one
+ * into a {@link ProblemDetail} through the advice's package-private handlers, which delegate to
+ * {@code createProblemDetail}. The {@code throwAndHandle*} benchmarks throw {@value #DEPTH} frames below the catch,
+ * roughly where a controller sits under the servlet and Spring MVC frames, to compare a {@link SystemException} with
+ * a stackless {@link ExpectedException} and a preallocated one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionHandlingBenchmark {
+
+    private static final int DEPTH = 100;
+
+    private final ExceptionControllerAdvice advice = new ExceptionControllerAdvice();
+    private final SystemException systemException = new SystemException("Post not found", "Not Found", 404);
+    private final HttpClientErrorException clientErrorException = HttpClientErrorException.create(
+        HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+
+    @Benchmark
+    public SystemException constructSystemException() {
+        return new SystemException("Cannot find a Post with id 42", "Resource Not Found", 404);
+    }
+
+    @Benchmark
+    public SystemException constructExpectedException() {
+        return new ExpectedException("Cannot find a Post with id 42", "Resource Not Found", 404);
+    }
+
+    @Benchmark
+    public ProblemDetail problemDetailForSystemException() {
+        return advice.handleSystemException(systemException);
+    }
+
+    @Benchmark
+    public ProblemDetail problemDetailForClientError() {
+        return advice.handleHttpClientException(clientErrorException);
+    }
+
+    @Benchmark
+    public ProblemDetail throwAndHandle() {
+        return throwAndHandle(() -> new SystemException("Cannot find a Post with id 42", "Resource Not Found", 404));
+    }
+
+    @Benchmark
+    public ProblemDetail throwAndHandleExpected() {
+        return throwAndHandle(() -> new ExpectedException("Cannot find a Post with id 42", "Resource Not Found", 404));
+    }
+
+    @Benchmark
+    public ProblemDetail throwAndHandlePreallocated() {
+        return throwAndHandle(() -> ExpectedException.POST_NOT_FOUND);
+    }
+
+    private ProblemDetail throwAndHandle(final Supplier<SystemException> exception) {
+        try {
+            return throwAt(DEPTH, exception);
+        } catch (final SystemException e) {
+            return advice.handleSystemException(e);
+        }
+    }
+
+    private static ProblemDetail throwAt(final int frames, final Supplier<SystemException> exception) {
+        if (frames == 0) {
+            throw exception.get();
+        }
+        return throwAt(frames - 1, exception);
+    }
+}
@@ -0,0 +1,103 @@
+package com.audition.common.collection;
+
+import java.util.Arrays;
+
+/**
+ * Growable, duplicate-free, ascending list of primitive ints. Used as a posting list by the in-memory indexes.
+ * Not thread-safe; callers guard concurrent access.
+ */
+public class IntSortedList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] values;
+    private int size;
+
+    public IntSortedList() {
+        this.values = EMPTY;
+    }
+
+    public boolean add(final int value) {
+        final int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        final int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(final int value) {
+        final int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(final int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public int get(final int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Position of the first element strictly greater than {@code value}.
+     */
+    public int indexAfter(final int value) {
+        final int index = Arrays.binarySearch(values, 0, size, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Intersection of all {@code lists}, walking the shortest one and probing the others by binary search.
+     */
+    public static int[] intersect(final IntSortedList... lists) {
+        if (lists.length == 0) {
+            return EMPTY;
+        }
+        IntSortedList shortest = lists[0];
+        for (final IntSortedList list : lists) {
+            if (list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        final int[] result = new int[shortest.size];
+        int count = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            final int candidate = shortest.values[i];
+            boolean inAll = true;
+            for (final IntSortedList list : lists) {
+                if (list != shortest && !list.contains(candidate)) {
+                    inAll = false;
+                    break;
+                }
+            }
+            if (inAll) {
+                result[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
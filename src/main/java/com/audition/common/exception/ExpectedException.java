@@ -0,0 +1,30 @@
+package com.audition.common.exception;
+
+/**
+ * {@link SystemException} for outcomes that are part of ordinary traffic rather than failures: invalid input, unknown
+ * ids, empty results, upstream 404s. It is stackless and keeps no suppressed exceptions, so a throw costs one small
+ * allocation instead of a stack walk; those without per-request detail are preallocated and shared.
+ */
+public class ExpectedException extends SystemException {
+
+    private static final long serialVersionUID = 3166195460251245047L;
+
+    public static final ExpectedException INVALID_POST_ID = badRequest("Invalid post ID");
+    public static final ExpectedException POST_NOT_FOUND = notFound("Post not found");
+
+    public ExpectedException(final String detail, final Integer errorCode) {
+        this(detail, DEFAULT_TITLE, errorCode);
+    }
+
+    public ExpectedException(final String detail, final String title, final Integer errorCode) {
+        super(detail, title, errorCode, false);
+    }
+
+    public static ExpectedException badRequest(final String detail) {
+        return new ExpectedException(detail, 400);
+    }
+
+    public static ExpectedException notFound(final String detail) {
+        return new ExpectedException(detail, 404);
+    }
+}
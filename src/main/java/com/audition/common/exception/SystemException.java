@@ -59,4 +59,15 @@ public class SystemException extends RuntimeException {
         this.title = title;
         this.detail = detail;
     }
+
+    /**
+     * Without a writable stack trace and without suppression, for {@link ExpectedException}.
+     */
+    protected SystemException(final String detail, final String title, final Integer errorCode,
+        final boolean writableStackTrace) {
+        super(detail, null, false, writableStackTrace);
+        this.statusCode = errorCode;
+        this.title = title;
+        this.detail = detail;
+    }
 }
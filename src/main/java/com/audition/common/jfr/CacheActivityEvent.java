@@ -0,0 +1,51 @@
+package com.audition.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Hits, misses and evictions of one of the service's caches, as reported to its statistics by Caffeine.
+ */
+@Name("com.audition.CacheActivity")
+@Label("Cache Activity")
+@Category({"Audition", "Cache"})
+@Description("Cache hits, misses and evictions")
+@StackTrace(false)
+public class CacheActivityEvent extends Event {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String EVICT = "evict";
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Activity")
+    public String activity;
+
+    @Label("Count")
+    @Description("Entries hit or missed at once, e.g. by a bulk lookup; 1 for an eviction")
+    public int count;
+
+    @Label("Eviction Cause")
+    public String cause;
+
+    /**
+     * Commits an instant event when the event type is enabled in the running recording; otherwise the allocation is
+     * eliminated by escape analysis and the call costs a branch.
+     */
+    public static void emit(final String cache, final String activity, final int count, final String cause) {
+        final CacheActivityEvent event = new CacheActivityEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.activity = activity;
+            event.count = count;
+            event.cause = cause;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.audition.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An exception turned into an error response by an exception handler, with the status it was mapped to.
+ */
+@Name("com.audition.ExceptionMapped")
+@Label("Exception Mapped")
+@Category({"Audition", "Web"})
+@Description("Exception mapped to an error response")
+@StackTrace(false)
+public class ExceptionMappedEvent extends Event {
+
+    @Label("Exception Type")
+    public String exceptionType;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Message")
+    public String message;
+
+    public static void emit(final Throwable exception, final int status) {
+        final ExceptionMappedEvent event = new ExceptionMappedEvent();
+        if (event.shouldCommit()) {
+            event.exceptionType = exception.getClass().getName();
+            event.status = status;
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+}
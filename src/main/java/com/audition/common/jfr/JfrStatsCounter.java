@@ -0,0 +1,58 @@
+package com.audition.common.jfr;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine's concurrent statistics, also reported as {@link CacheActivityEvent}s. Pass {@link #of} to
+ * {@code Caffeine.recordStats} in place of the no-argument form; {@code stats()} is unchanged.
+ */
+public final class JfrStatsCounter implements StatsCounter {
+
+    private final String cache;
+    private final StatsCounter delegate = new ConcurrentStatsCounter();
+
+    private JfrStatsCounter(final String cache) {
+        this.cache = cache;
+    }
+
+    public static Supplier<StatsCounter> of(final String cache) {
+        return () -> new JfrStatsCounter(cache);
+    }
+
+    @Override
+    public void recordHits(final int count) {
+        delegate.recordHits(count);
+        CacheActivityEvent.emit(cache, CacheActivityEvent.HIT, count, null);
+    }
+
+    @Override
+    public void recordMisses(final int count) {
+        delegate.recordMisses(count);
+        CacheActivityEvent.emit(cache, CacheActivityEvent.MISS, count, null);
+    }
+
+    @Override
+    public void recordLoadSuccess(final long loadTime) {
+        delegate.recordLoadSuccess(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(final long loadTime) {
+        delegate.recordLoadFailure(loadTime);
+    }
+
+    @Override
+    public void recordEviction(final int weight, final RemovalCause cause) {
+        delegate.recordEviction(weight, cause);
+        CacheActivityEvent.emit(cache, CacheActivityEvent.EVICT, 1, cause.name());
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return delegate.snapshot();
+    }
+}
@@ -0,0 +1,78 @@
+package com.audition.common.jfr;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * An upstream response read and parsed by the integration client; the event spans the parse, which streams the body
+ * off the connection. The URL is reduced to a template, so that recordings group calls by endpoint.
+ */
+@Name("com.audition.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Audition", "Upstream"})
+@Description("Upstream response body read and parsed by the integration client")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Route")
+    public String route;
+
+    @Label("URL Template")
+    public String urlTemplate;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Body Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Body Read Time")
+    @Description("Time blocked reading the body off the connection")
+    @Timespan
+    public long readTime;
+
+    @Label("Parse Time")
+    @Description("Time spent parsing the body, excluding reads and record consumers")
+    @Timespan
+    public long parseTime;
+
+    /**
+     * {@code url} without scheme, host and values: numeric path segments become {@code {id}} and each query parameter
+     * keeps only its name, e.g. {@code /comments?postId={}}.
+     */
+    public static String template(final String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : url.indexOf('/', start + 3);
+        if (start < 0) {
+            return "/";
+        }
+        final int query = url.indexOf('?', start);
+        final StringBuilder template = new StringBuilder();
+        for (final String segment : url.substring(start + 1, query < 0 ? url.length() : query).split("/")) {
+            template.append('/').append(!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)
+                ? "{id}" : segment);
+        }
+        if (query >= 0) {
+            String separator = "?";
+            final Set<String> names = new LinkedHashSet<>();
+            for (final String parameter : url.substring(query + 1).split("&")) {
+                final int equals = parameter.indexOf('=');
+                names.add(equals < 0 ? parameter : parameter.substring(0, equals));
+            }
+            for (final String name : names) {
+                template.append(separator).append(name).append("={}");
+                separator = "&";
+            }
+        }
+        return template.toString();
+    }
+}
@@ -1,13 +1,41 @@
 package com.audition.common.logging;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
+import org.slf4j.event.Level;
 import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AuditionLogger {
 
+    /**
+     * One builder per thread, reused by its statements. A virtual thread usually serves a single request, so there the
+     * first enabled statement of each request allocates the builder, its 256-char buffer and the thread-local entry;
+     * only the statements after it reuse them.
+     */
+    private static final ThreadLocal<LogEvent> EVENTS = ThreadLocal.withInitial(() -> new LogEvent(true));
+
+    /**
+     * Starts a structured INFO statement, e.g.
+     * {@code auditionLogger.atInfo(log).message("fetched").field("postId", id).log()}; nothing is allocated when INFO
+     * is disabled.
+     */
+    public LogEvent atInfo(final Logger logger) {
+        return logger.isInfoEnabled() ? start(logger, Level.INFO) : LogEvent.DISABLED;
+    }
+
+    public LogEvent atDebug(final Logger logger) {
+        return logger.isDebugEnabled() ? start(logger, Level.DEBUG) : LogEvent.DISABLED;
+    }
+
+    public LogEvent atWarn(final Logger logger) {
+        return logger.isWarnEnabled() ? start(logger, Level.WARN) : LogEvent.DISABLED;
+    }
+
+    public LogEvent atError(final Logger logger) {
+        return logger.isErrorEnabled() ? start(logger, Level.ERROR) : LogEvent.DISABLED;
+    }
+
     public void info(final Logger logger, final String message) {
         if (logger.isInfoEnabled()) {
             logger.info(message);
@@ -45,30 +73,16 @@ public class AuditionLogger {
     }
 
     public void logStandardProblemDetail(final Logger logger, final ProblemDetail problemDetail, final Exception e) {
-        if (logger.isErrorEnabled()) {
-            final var message = createStandardProblemDetailMessage(problemDetail);
-            logger.error(message, e);
-        }
+        atError(logger).message("ProblemDetail:").problem(problemDetail).cause(e).log();
     }
 
     public void logHttpStatusCodeError(final Logger logger, final String message, final Integer errorCode) {
-        if (logger.isErrorEnabled()) {
-            logger.error(createBasicErrorResponseMessage(errorCode, message) + "\n");
-        }
-    }
-
-    private String createStandardProblemDetailMessage(final ProblemDetail standardProblemDetail) {
-        // TODO Add implementation here.
-        return "ProblemDetail: " +
-               "type=" + standardProblemDetail.getType() +
-               ", title=" + standardProblemDetail.getTitle() +
-               ", status=" + standardProblemDetail.getStatus() +
-               ", detail=" + standardProblemDetail.getDetail() +
-               ", instance=" + standardProblemDetail.getInstance();
+        atError(logger).message("Error").field("code", errorCode).field("message", message).log();
     }
 
-    private String createBasicErrorResponseMessage(final Integer errorCode, final String message) {
-        // TODO Add implementation here.
-        return "Error Code: " + errorCode + ", Message: " + message;
+    private static LogEvent start(final Logger logger, final Level level) {
+        final LogEvent event = EVENTS.get();
+        // a field rendered while building a statement may itself log; give that statement its own builder
+        return event.isInUse() ? new LogEvent(true).start(logger, level) : event.start(logger, level);
     }
 }
@@ -0,0 +1,176 @@
+package com.audition.common.logging;
+
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * A log statement built from a message and typed key/value fields, obtained from {@link AuditionLogger} and ended with
+ * {@link #log()}. Fields are appended straight into a buffer reused by the thread, numbers without boxing, and a
+ * {@link ProblemDetail} is only rendered if the level is enabled; for a disabled level every method returns at once.
+ * The rendered statement is {@code message key=value key=value}.
+ *
+ * <p>The builder stays claimed until {@link #log()} or {@link #close()}. A field whose {@code toString()} throws
+ * releases it, but an exception thrown while the caller computes a field value happens outside the builder; where that
+ * can happen, use the statement as a resource so the builder is released either way:
+ * {@code try (LogEvent event = auditionLogger.atWarn(log)) { event.field("size", size()).log(); }}. Otherwise every
+ * later statement on the thread gets a fresh builder.
+ */
+public final class LogEvent implements AutoCloseable {
+
+    static final LogEvent DISABLED = new LogEvent(false);
+
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+
+    private final boolean enabled;
+    private StringBuilder buffer = new StringBuilder(256);
+    private Logger logger;
+    private Level level;
+    private Throwable cause;
+    private boolean inUse;
+
+    LogEvent(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    LogEvent start(final Logger logger, final Level level) {
+        this.logger = logger;
+        this.level = level;
+        this.inUse = true;
+        return this;
+    }
+
+    public LogEvent message(final String message) {
+        if (enabled) {
+            buffer.append(message);
+        }
+        return this;
+    }
+
+    public LogEvent field(final String key, final String value) {
+        if (enabled) {
+            key(key).append(value);
+        }
+        return this;
+    }
+
+    public LogEvent field(final String key, final long value) {
+        if (enabled) {
+            key(key).append(value);
+        }
+        return this;
+    }
+
+    public LogEvent field(final String key, final boolean value) {
+        if (enabled) {
+            key(key).append(value);
+        }
+        return this;
+    }
+
+    public LogEvent field(final String key, final HttpStatusCode status) {
+        if (enabled) {
+            key(key).append(status == null ? -1 : status.value());
+        }
+        return this;
+    }
+
+    public LogEvent field(final String key, final Object value) {
+        if (enabled) {
+            try {
+                key(key).append(value);
+            } catch (final RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends the problem's type, title, status, detail and instance as fields.
+     */
+    public LogEvent problem(final ProblemDetail problem) {
+        if (enabled) {
+            try {
+                uri("type", problem.getType());
+                field("title", problem.getTitle());
+                field("status", problem.getStatus());
+                field("detail", problem.getDetail());
+                uri("instance", problem.getInstance());
+            } catch (final RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+        return this;
+    }
+
+    public LogEvent cause(final Throwable cause) {
+        if (enabled) {
+            this.cause = cause;
+        }
+        return this;
+    }
+
+    /**
+     * Writes the statement and releases the builder for the next statement on this thread.
+     */
+    public void log() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            final String message = buffer.toString();
+            switch (level) {
+                case ERROR -> logger.error(message, cause);
+                case WARN -> logger.warn(message, cause);
+                case INFO -> logger.info(message, cause);
+                case DEBUG -> logger.debug(message, cause);
+                case TRACE -> logger.trace(message, cause);
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Releases the builder without writing the statement, unless {@link #log()} already did.
+     */
+    @Override
+    public void close() {
+        if (enabled && inUse) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new StringBuilder(256);
+        } else {
+            buffer.setLength(0);
+        }
+        logger = null;
+        level = null;
+        cause = null;
+        inUse = false;
+    }
+
+    private void uri(final String key, final URI value) {
+        // URI caches its string form, so this does not allocate after the first call
+        key(key).append(value);
+    }
+
+    private StringBuilder key(final String key) {
+        if (!buffer.isEmpty()) {
+            buffer.append(' ');
+        }
+        return buffer.append(key).append('=');
+    }
+}
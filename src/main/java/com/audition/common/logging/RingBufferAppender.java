@@ -0,0 +1,287 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender: the logging thread only puts the event into a bounded ring buffer, and a single worker hands
+ * events to the attached appenders in batches, flushing their output streams once per batch rather than once per
+ * event. Attached {@link OutputStreamAppender}s should therefore set {@code immediateFlush} to {@code false}.
+ *
+ * <p>When the buffer is nearly full (fewer than {@code discardingThreshold} free slots), events below WARN are dropped;
+ * when it is full, {@link OverflowPolicy#DROP} drops any event while {@link OverflowPolicy#BLOCK} makes the logging
+ * thread wait for a free slot. Dropped events are counted per level and, like the buffer depth, published by
+ * {@code LoggingMetrics}.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+    implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * What a logging thread does with an event when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private static final Set<RingBufferAppender> STARTED = new CopyOnWriteArraySet<>();
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder droppedBelowWarn = new LongAdder();
+    private final LongAdder droppedWarnOrAbove = new LongAdder();
+    private final LongAdder appended = new LongAdder();
+
+    private int capacity = 8192;
+    private int batchSize = 256;
+    private int discardingThreshold = -1;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private boolean includeCallerData;
+    private int maxFlushTime = 1000;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+
+    /**
+     * The started instances, for metrics.
+     */
+    public static Set<RingBufferAppender> started() {
+        return STARTED;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacity < 1 || batchSize < 1) {
+            addError("capacity and batchSize must be positive");
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = capacity / 5;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        worker = new Thread(this::drain, "log-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+        STARTED.add(this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        STARTED.remove(this);
+        worker.interrupt();
+        try {
+            worker.join(maxFlushTime);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Dropped " + queue.size() + " queued events: not written within " + maxFlushTime + " ms");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(final ILoggingEvent event) {
+        if (queue.remainingCapacity() < discardingThreshold && !isWarnOrAbove(event)) {
+            droppedBelowWarn.increment();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (queue.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(event);
+                return;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (isWarnOrAbove(event)) {
+            droppedWarnOrAbove.increment();
+        } else {
+            droppedBelowWarn.increment();
+        }
+    }
+
+    private void drain() {
+        final List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        while (isStarted()) {
+            try {
+                batch.add(queue.take());
+            } catch (final InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+        }
+        // stopping: write out what is left
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    private void write(final List<ILoggingEvent> batch) {
+        for (final ILoggingEvent event : batch) {
+            appenders.appendLoopOnAppenders(event);
+        }
+        appended.add(batch.size());
+        batch.clear();
+        flush();
+    }
+
+    private void flush() {
+        final Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> appender && !appender.isImmediateFlush()) {
+                final OutputStream out = appender.getOutputStream();
+                if (out != null) {
+                    try {
+                        out.flush();
+                    } catch (final IOException e) {
+                        addError("Could not flush appender " + appender.getName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isWarnOrAbove(final ILoggingEvent event) {
+        return event.getLevel().isGreaterOrEqual(Level.WARN);
+    }
+
+    /**
+     * Events waiting for the worker.
+     */
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getDroppedBelowWarn() {
+        return droppedBelowWarn.sum();
+    }
+
+    public long getDroppedWarnOrAbove() {
+        return droppedWarnOrAbove.sum();
+    }
+
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    /**
+     * Free slots below which events below WARN are dropped, as in logback's {@code AsyncAppender}; defaults to a fifth of
+     * the capacity, 0 disables it.
+     */
+    public void setDiscardingThreshold(final int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(final boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    /**
+     * Milliseconds {@link #stop()} waits for queued events to be written.
+     */
+    public void setMaxFlushTime(final int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void addAppender(final Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(final String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(final Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(final Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(final String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,67 @@
+package com.audition.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency of the phases of serving a request, split between our own work ({@value #REQUEST}, tagged by endpoint) and
+ * the upstream's ({@value #UPSTREAM}, tagged by route). Endpoints, routes and phases are fixed vocabularies, so the
+ * number of series stays bounded; percentile histograms are switched on in configuration.
+ */
+@Component
+public class PhaseTimers {
+
+    public static final String REQUEST = "audition.request.phase";
+    public static final String UPSTREAM = "audition.upstream.phase";
+
+    /**
+     * Lookup of the records a response is made of: cache, index or mirror.
+     */
+    public static final String FILTER = "filter";
+    /**
+     * Writing a response body as JSON, including compression; cache hits skip it.
+     */
+    public static final String SERIALIZE = "serialize";
+    /**
+     * From sending an upstream request until its status line and headers arrive: connection lease or connect, request
+     * write and the upstream's own processing.
+     */
+    public static final String FIRST_BYTE = "first-byte";
+    /**
+     * Time blocked reading an upstream response body off the socket.
+     */
+    public static final String BODY_READ = "body-read";
+    /**
+     * Time spent parsing an upstream response body, excluding {@link #BODY_READ}.
+     */
+    public static final String DESERIALIZE = "deserialize";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, ConcurrentMap<String, Timer>> requestTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Timer>> upstreamTimers = new ConcurrentHashMap<>();
+
+    public PhaseTimers(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void request(final String endpoint, final String phase, final long nanos) {
+        timer(requestTimers, REQUEST, "endpoint", endpoint, phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void upstream(final String route, final String phase, final long nanos) {
+        timer(upstreamTimers, UPSTREAM, "route", route, phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(final ConcurrentMap<String, ConcurrentMap<String, Timer>> timers, final String name,
+        final String scopeTag, final String scope, final String phase) {
+        return timers.computeIfAbsent(scope, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(phase, key -> Timer.builder(name)
+                .tag(scopeTag, scope)
+                .tag("phase", phase)
+                .register(registry));
+    }
+}
@@ -0,0 +1,26 @@
+package com.audition.common.validation;
+
+/**
+ * Validation of post ids as they arrive in paths and query parameters.
+ */
+public final class PostIds {
+
+    private PostIds() {
+    }
+
+    /**
+     * Whether {@code value} is a non-empty run of ASCII digits; the check runs on every request, so without a regex.
+     */
+    public static boolean isValid(final String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
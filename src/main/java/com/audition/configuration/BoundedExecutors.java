@@ -0,0 +1,36 @@
+package com.audition.configuration;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Fixed-size platform thread pools for work handed off from request threads, so that a slow upstream holds at most
+ * {@code threads} threads instead of one per waiting request. Idle threads time out.
+ */
+public final class BoundedExecutors {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * Pool of {@code threads} threads named {@code prefix} followed by a counter, queueing up to {@code queueCapacity}
+     * tasks (none with 0) before {@code rejection} applies.
+     */
+    public static ThreadPoolExecutor newPool(final String prefix, final int threads, final int queueCapacity,
+        final RejectedExecutionHandler rejection) {
+        final BlockingQueue<Runnable> queue = queueCapacity > 0
+            ? new LinkedBlockingQueue<>(queueCapacity)
+            : new SynchronousQueue<>();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS, queue, new CustomizableThreadFactory(prefix), rejection);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
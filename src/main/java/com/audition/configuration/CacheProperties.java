@@ -0,0 +1,57 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.cache")
+public class CacheProperties {
+
+    private final Resource posts = new Resource(Duration.ofMinutes(1), Duration.ofMinutes(10), DataSize.ofMegabytes(32));
+    private final Resource post = new Resource(Duration.ofMinutes(5), Duration.ofMinutes(30), DataSize.ofMegabytes(16));
+    private final Resource comments = new Resource(Duration.ofMinutes(2), Duration.ofMinutes(15), DataSize.ofMegabytes(32));
+
+    /**
+     * Platform threads loading and refreshing entries; unused with virtual threads. Matches the upstream bulkhead, so
+     * the pool is not a tighter cap on concurrent misses than the upstream permits.
+     */
+    private int loadThreads = 100;
+
+    /**
+     * Loads waiting for a load thread before further misses fail with a 503.
+     */
+    private int loadQueueCapacity = 1000;
+
+    @Getter
+    @Setter
+    public static class Resource {
+
+        /**
+         * Age after which an entry is stale: it is still served, but the next read triggers a background reload.
+         */
+        private Duration refreshAfter;
+
+        /**
+         * Age after which an entry is dropped and the next read blocks on the upstream.
+         */
+        private Duration expireAfter;
+
+        /**
+         * Upper bound on the estimated heap used by the entries of this resource.
+         */
+        private DataSize maximumWeight;
+
+        public Resource() {
+        }
+
+        public Resource(final Duration refreshAfter, final Duration expireAfter, final DataSize maximumWeight) {
+            this.refreshAfter = refreshAfter;
+            this.expireAfter = expireAfter;
+            this.maximumWeight = maximumWeight;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a caller waits on an identical in-flight upstream call before abandoning it.
+     */
+    private Duration maxWait = Duration.ofSeconds(10);
+
+    private AbandonPolicy onAbandon = AbandonPolicy.FAIL;
+
+    public enum AbandonPolicy {
+
+        /**
+         * The abandoning caller fails with a 504; the shared call keeps running for the remaining callers.
+         */
+        FAIL,
+
+        /**
+         * The abandoning caller issues its own upstream call.
+         */
+        FETCH_ALONE
+    }
+}
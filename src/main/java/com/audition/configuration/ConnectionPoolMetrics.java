@@ -0,0 +1,37 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final String poolName;
+
+    public ConnectionPoolMetrics(final PoolingHttpClientConnectionManager connectionManager, final String poolName) {
+        this.connectionManager = connectionManager;
+        this.poolName = poolName;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("http.client.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+            .description("Connections currently leased from the pool")
+            .tag("pool", poolName)
+            .register(registry);
+        Gauge.builder("http.client.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+            .description("Idle connections kept alive in the pool")
+            .tag("pool", poolName)
+            .register(registry);
+        Gauge.builder("http.client.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+            .description("Requests waiting for a connection")
+            .tag("pool", poolName)
+            .register(registry);
+        Gauge.builder("http.client.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+            .description("Maximum number of pooled connections")
+            .tag("pool", poolName)
+            .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.delta-sync")
+public class DeltaSyncProperties {
+
+    private boolean enabled;
+
+    /**
+     * Delay between two refreshes; the first one starts right after startup.
+     */
+    private Duration interval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,26 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.fan-out")
+public class FanOutProperties {
+
+    /**
+     * Posts of one batch request fetched concurrently; each post issues its post and comments calls in parallel.
+     */
+    private int parallelism = 8;
+
+    /**
+     * Platform threads shared by the lookups of all requests; unused with virtual threads.
+     */
+    private int threads = 32;
+
+    /**
+     * Largest number of distinct ids accepted in one batch request.
+     */
+    private int maxIds = 50;
+}
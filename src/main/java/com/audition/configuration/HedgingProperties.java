@@ -0,0 +1,52 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.hedging")
+public class HedgingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Upstream endpoints whose calls are hedged.
+     */
+    private Set<String> endpoints = new LinkedHashSet<>(Set.of("post", "comments"));
+
+    /**
+     * Latency percentile of recent calls after which the hedge is sent, between 0 and 1.
+     */
+    private double percentile = 0.95;
+
+    /**
+     * Bounds for the hedge delay; {@code max-delay} is also used until enough latencies have been recorded.
+     */
+    private Duration minDelay = Duration.ofMillis(10);
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /**
+     * Calls recorded before the delay is recomputed from them.
+     */
+    private int minSamples = 100;
+
+    /**
+     * Hedges allowed per call on an endpoint, e.g. 0.05 caps the extra upstream load at 5%.
+     */
+    private double maxHedgeRate = 0.05;
+
+    /**
+     * Hedges in flight at once across all endpoints.
+     */
+    private int maxConcurrentHedges = 16;
+
+    /**
+     * Platform threads running first attempts and hedges; unused with virtual threads.
+     */
+    private int threads = 64;
+}
@@ -0,0 +1,32 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.http-cache")
+public class HttpCacheProperties {
+
+    public static final String POSTS = "posts";
+    public static final String POST = "post";
+    public static final String COMMENTS = "comments";
+
+    /**
+     * Whether GET responses carry an {@code ETag} and {@code Cache-Control}, and {@code If-None-Match} is honoured.
+     */
+    private boolean enabled = true;
+
+    /**
+     * {@code Cache-Control: public, max-age} per endpoint: {@code posts}, {@code post} and {@code comments}. Endpoints
+     * without an entry get {@code no-cache}, i.e. clients always revalidate with the ETag.
+     */
+    private Map<String, Duration> maxAge = new LinkedHashMap<>(Map.of(
+        POSTS, Duration.ofSeconds(30),
+        POST, Duration.ofMinutes(1),
+        COMMENTS, Duration.ofSeconds(30)));
+}
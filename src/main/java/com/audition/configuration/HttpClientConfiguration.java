@@ -0,0 +1,34 @@
+package com.audition.configuration;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfiguration {
+
+    private static final String UPSTREAM_POOL = "upstream";
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(final HttpClientProperties properties,
+        final ObjectProvider<PoolingHttpClientConnectionManager> connectionManager) {
+        return HttpTransports.create(properties, connectionManager.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection", name = "transport", havingValue = "pooled", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(final HttpClientProperties properties) {
+        return HttpTransports.connectionManager(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection", name = "transport", havingValue = "pooled", matchIfMissing = true)
+    public ConnectionPoolMetrics upstreamConnectionPoolMetrics(final PoolingHttpClientConnectionManager connectionManager) {
+        return new ConnectionPoolMetrics(connectionManager, UPSTREAM_POOL);
+    }
+}
@@ -0,0 +1,30 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.connection")
+public class HttpClientProperties {
+
+    private HttpTransport transport = HttpTransport.POOLED;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private final Pool pool = new Pool();
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private int maxTotal = 200;
+        private int maxPerRoute = 50;
+        private Duration idleEviction = Duration.ofSeconds(30);
+        private Duration timeToLive = Duration.ofMinutes(5);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+}
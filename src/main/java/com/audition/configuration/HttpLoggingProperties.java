@@ -0,0 +1,35 @@
+package com.audition.configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.http-logging")
+public class HttpLoggingProperties {
+
+    /**
+     * Level for upstream request/response lines when no route below matches. {@code OFF} disables logging.
+     */
+    private LogLevel level = LogLevel.INFO;
+
+    /**
+     * Fraction of upstream exchanges, between 0 and 1, whose bodies are logged.
+     */
+    private double bodySampleRate = 0.01;
+
+    /**
+     * Hard cap on the number of body bytes captured for a sampled exchange.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(2);
+
+    /**
+     * Per-route levels keyed by Ant-style upstream path pattern, e.g. {@code /posts/*}; the first match wins.
+     */
+    private Map<String, LogLevel> routes = new LinkedHashMap<>();
+}
@@ -0,0 +1,19 @@
+package com.audition.configuration;
+
+public enum HttpTransport {
+
+    /**
+     * Plain {@link java.net.HttpURLConnection} per request, no pooling.
+     */
+    SIMPLE,
+
+    /**
+     * Apache HttpClient 5 with a pooled, keep-alive connection manager.
+     */
+    POOLED,
+
+    /**
+     * JDK {@link java.net.http.HttpClient}; blocking calls park virtual threads rather than pinning them.
+     */
+    JDK
+}
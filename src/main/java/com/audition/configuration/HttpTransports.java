@@ -0,0 +1,77 @@
+package com.audition.configuration;
+
+import java.net.http.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Builds the {@link ClientHttpRequestFactory} used for upstream calls for each {@link HttpTransport}.
+ */
+public final class HttpTransports {
+
+    private HttpTransports() {
+    }
+
+    public static ClientHttpRequestFactory create(final HttpClientProperties properties,
+        final PoolingHttpClientConnectionManager connectionManager) {
+        return switch (properties.getTransport()) {
+            case POOLED -> pooled(properties, connectionManager);
+            case JDK -> jdk(properties);
+            case SIMPLE -> simple(properties);
+        };
+    }
+
+    public static SimpleClientHttpRequestFactory simple(final HttpClientProperties properties) {
+        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setOutputStreaming(false);
+        requestFactory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
+        requestFactory.setReadTimeout((int) properties.getReadTimeout().toMillis());
+        return requestFactory;
+    }
+
+    public static PoolingHttpClientConnectionManager connectionManager(final HttpClientProperties properties) {
+        final HttpClientProperties.Pool pool = properties.getPool();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(pool.getMaxTotal())
+            .setMaxConnPerRoute(pool.getMaxPerRoute())
+            .setConnectionTimeToLive(TimeValue.ofMilliseconds(pool.getTimeToLive().toMillis()))
+            .setValidateAfterInactivity(TimeValue.ofMilliseconds(pool.getValidateAfterInactivity().toMillis()))
+            .setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                .build())
+            .build();
+    }
+
+    public static HttpComponentsClientHttpRequestFactory pooled(final HttpClientProperties properties,
+        final PoolingHttpClientConnectionManager connectionManager) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+            .setResponseTimeout(Timeout.ofMilliseconds(properties.getResponseTimeout().toMillis()))
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeout().toMillis()))
+            .build();
+        final CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(properties.getPool().getIdleEviction().toMillis()))
+            .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    public static JdkClientHttpRequestFactory jdk(final HttpClientProperties properties) {
+        final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(properties.getConnectTimeout())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        return new JdkClientHttpRequestFactory(httpClient, properties.getResponseTimeout());
+    }
+}
@@ -2,45 +2,216 @@ package com.audition.configuration;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import org.apache.commons.io.IOUtils;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
 import org.springframework.stereotype.Component;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
 
+/**
+ * Logs upstream exchanges at a per-route level. Bodies are logged only for a sampled fraction of exchanges, and only
+ * their first {@code max-body-size} bytes, captured while the caller reads the response stream rather than by
+ * buffering the whole response.
+ */
 @Component
-@Slf4j
+@EnableConfigurationProperties(HttpLoggingProperties.class)
 public class LoggingInterceptor implements ClientHttpRequestInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingInterceptor.class);
 
+    private final HttpLoggingProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public LoggingInterceptor() {
+        this(new HttpLoggingProperties());
+    }
+
+    @Autowired
+    public LoggingInterceptor(final HttpLoggingProperties properties) {
+        this.properties = properties;
+    }
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
-        logRequest(request, body);
+        final Level level = levelFor(request.getURI().getPath());
+        if (level == null || !logger.isEnabledForLevel(level)) {
+            return execution.execute(request, body);
+        }
+        final boolean sampled = isSampled();
+        logRequest(level, request, body, sampled);
         ClientHttpResponse response = execution.execute(request, body);
-        logResponse(response);
-        return response;
+        logResponse(level, response);
+        return sampled ? new BodyLoggingResponse(response, level, maxBodyBytes()) : response;
+    }
+
+    private void logRequest(Level level, HttpRequest request, byte[] body, boolean sampled) {
+        logger.atLevel(level).log("Request {} {} headers={}", request.getMethod(), request.getURI(), request.getHeaders());
+        if (sampled && body.length > 0) {
+            logger.atLevel(level).log("Request Body: {}", new String(body, 0, Math.min(body.length, maxBodyBytes()), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void logResponse(Level level, ClientHttpResponse response) throws IOException {
+        logger.atLevel(level).log("Response {} headers={}", response.getStatusCode(), response.getHeaders());
+    }
+
+    private Level levelFor(final String path) {
+        LogLevel level = properties.getLevel();
+        for (final Map.Entry<String, LogLevel> route : properties.getRoutes().entrySet()) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                level = route.getValue();
+                break;
+            }
+        }
+        return toSlf4j(level);
+    }
+
+    private boolean isSampled() {
+        final double rate = properties.getBodySampleRate();
+        return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private int maxBodyBytes() {
+        return (int) Math.min(Integer.MAX_VALUE, properties.getMaxBodySize().toBytes());
     }
 
-    private void logRequest(HttpRequest request, byte[] body) throws IOException {
-        logger.info("Request URI: {}", request.getURI());
-        logger.info("Request Method: {}", request.getMethod());
-        logger.info("Request Headers: {}", request.getHeaders());
-        logger.info("Request Body: {}", new String(body, StandardCharsets.UTF_8));
+    private static Level toSlf4j(final LogLevel level) {
+        return switch (level) {
+            case TRACE -> Level.TRACE;
+            case DEBUG -> Level.DEBUG;
+            case INFO -> Level.INFO;
+            case WARN -> Level.WARN;
+            case ERROR, FATAL -> Level.ERROR;
+            case OFF -> null;
+        };
     }
 
-    private void logResponse(ClientHttpResponse response) throws IOException {
-        InputStream responseBodyStream = response.getBody();
-        String responseBody = IOUtils.toString(responseBodyStream, StandardCharsets.UTF_8);
+    /**
+     * Response whose body stream copies at most {@code limit} bytes aside as they are read and logs them once, when
+     * the stream or the response is closed.
+     */
+    private static final class BodyLoggingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Level level;
+        private final int limit;
+        private BodyPeekingInputStream body;
+
+        BodyLoggingResponse(final ClientHttpResponse delegate, final Level level, final int limit) {
+            this.delegate = delegate;
+            this.level = level;
+            this.limit = limit;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new BodyPeekingInputStream(delegate.getBody(), level, limit);
+            }
+            return body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        @Deprecated
+        public int getRawStatusCode() throws IOException {
+            return delegate.getStatusCode().value();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                body.logOnce();
+            }
+            delegate.close();
+        }
+    }
+
+    private static final class BodyPeekingInputStream extends FilterInputStream {
+
+        private final Level level;
+        private final byte[] peeked;
+        private int peekedLength;
+        private boolean truncated;
+        private boolean logged;
+
+        BodyPeekingInputStream(final InputStream in, final Level level, final int limit) {
+            super(in);
+            this.level = level;
+            this.peeked = new byte[limit];
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                if (peekedLength < peeked.length) {
+                    peeked[peekedLength++] = (byte) b;
+                } else {
+                    truncated = true;
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                peek(buffer, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            logOnce();
+            super.close();
+        }
+
+        private void peek(final byte[] buffer, final int offset, final int length) {
+            final int copied = Math.min(length, peeked.length - peekedLength);
+            if (copied > 0) {
+                System.arraycopy(buffer, offset, peeked, peekedLength, copied);
+                peekedLength += copied;
+            }
+            truncated |= copied < length;
+        }
 
-        logger.info("Response Status Code: {}", response.getStatusCode());
-        logger.info("Response Headers: {}", response.getHeaders());
-        logger.info("Response Body: {}", responseBody);
+        void logOnce() {
+            if (!logged) {
+                logged = true;
+                logger.atLevel(level).log("Response Body{}: {}", truncated ? " (truncated)" : "",
+                    new String(peeked, 0, peekedLength, StandardCharsets.UTF_8));
+            }
+        }
     }
 }
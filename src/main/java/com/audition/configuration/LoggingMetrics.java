@@ -0,0 +1,45 @@
+package com.audition.configuration;
+
+import com.audition.common.logging.RingBufferAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffer depth, capacity and dropped events of each {@link RingBufferAppender} configured in {@code logback-spring.xml},
+ * tagged by appender name. Drops are split by level so that losing WARN and ERROR, which the discarding threshold never
+ * sheds, stands out from routine shedding of INFO.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        for (final RingBufferAppender appender : RingBufferAppender.started()) {
+            Gauge.builder("audition.logging.queue.depth", appender, RingBufferAppender::getQueueDepth)
+                .description("Log events waiting to be written")
+                .tag("appender", appender.getName())
+                .register(registry);
+            Gauge.builder("audition.logging.queue.capacity", appender, RingBufferAppender::getCapacity)
+                .description("Log events the buffer holds before dropping or blocking")
+                .tag("appender", appender.getName())
+                .register(registry);
+            FunctionCounter.builder("audition.logging.dropped", appender, RingBufferAppender::getDroppedBelowWarn)
+                .description("Log events dropped because the buffer was full")
+                .tag("appender", appender.getName())
+                .tag("level", "below-warn")
+                .register(registry);
+            FunctionCounter.builder("audition.logging.dropped", appender, RingBufferAppender::getDroppedWarnOrAbove)
+                .description("Log events dropped because the buffer was full")
+                .tag("appender", appender.getName())
+                .tag("level", "warn-or-above")
+                .register(registry);
+            FunctionCounter.builder("audition.logging.written", appender, RingBufferAppender::getAppended)
+                .description("Log events handed to the underlying appenders")
+                .tag("appender", appender.getName())
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.audition.configuration;
+
+import com.audition.service.mirror.MirroredPostRepository;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Local relational mirror of the upstream posts and comments. {@code DataSourceAutoConfiguration} stays excluded so
+ * that the service starts without a database; when {@code application.mirror.enabled} is set this configuration
+ * supplies the H2 {@link DataSource}, which in turn activates the JPA auto-configuration and the mirror repositories.
+ */
+@Configuration
+@EnableConfigurationProperties(MirrorProperties.class)
+@ConditionalOnProperty(prefix = "application.mirror", name = "enabled", havingValue = "true")
+@EnableJpaRepositories(basePackageClasses = MirroredPostRepository.class)
+public class MirrorConfiguration {
+
+    @Bean
+    public DataSource mirrorDataSource(final MirrorProperties properties) {
+        return DataSourceBuilder.create()
+            .url(properties.getUrl())
+            .username(properties.getUsername())
+            .password(properties.getPassword())
+            .build();
+    }
+}
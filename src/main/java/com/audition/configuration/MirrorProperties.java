@@ -0,0 +1,34 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.mirror")
+public class MirrorProperties {
+
+    private boolean enabled;
+
+    /**
+     * H2 database holding the mirror, in memory by default; {@code jdbc:h2:file:./data/audition-mirror} keeps it across
+     * restarts.
+     */
+    private String url = "jdbc:h2:mem:audition-mirror;DB_CLOSE_DELAY=-1";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * Delay between two full syncs from upstream; the first one starts right after startup.
+     */
+    private Duration syncInterval = Duration.ofMinutes(5);
+
+    /**
+     * Rows sent to the database per batched upsert.
+     */
+    private int batchSize = 500;
+}
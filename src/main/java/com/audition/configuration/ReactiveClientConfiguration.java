@@ -0,0 +1,41 @@
+package com.audition.configuration;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking upstream transport for the {@code /reactive} endpoints: a Reactor Netty client sharing the timeouts and
+ * pool limits of {@link HttpClientProperties}. Enabled per deployment with {@code application.reactive.enabled}.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+@ConditionalOnProperty(prefix = "application.reactive", name = "enabled", havingValue = "true")
+public class ReactiveClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(final HttpClientProperties properties) {
+        final HttpClientProperties.Pool pool = properties.getPool();
+        return ConnectionProvider.builder("upstream")
+            .maxConnections(pool.getMaxTotal())
+            .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+            .maxIdleTime(pool.getIdleEviction())
+            .maxLifeTime(pool.getTimeToLive())
+            .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(final WebClient.Builder builder, final HttpClientProperties properties,
+        final ConnectionProvider upstreamConnectionProvider) {
+        final HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getResponseTimeout());
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.resilience")
+public class ResilienceProperties {
+
+    private boolean enabled = true;
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Bulkhead bulkhead = new Bulkhead(100);
+
+    /**
+     * Semaphore for the streamed exports ({@code /export/*}), kept apart from {@link #bulkhead}: a stream holds its
+     * permit and a pooled connection for as long as the client takes to read it.
+     */
+    private final Bulkhead streamingBulkhead = new Bulkhead(4);
+
+    /**
+     * Semaphore for the streamed reads of the mirror and delta syncs, so that exports cannot hold off a sync.
+     */
+    private final Bulkhead syncBulkhead = new Bulkhead(2);
+    private final Retry retry = new Retry();
+
+    /**
+     * Results of the most recent successful calls, kept per URL to answer while a breaker is open.
+     */
+    private int lastKnownSize = 1_000;
+
+    /**
+     * One breaker per upstream endpoint ({@code posts}, {@code post}, {@code comments}), all with these settings, and
+     * one per streamed endpoint ({@code posts-stream}, {@code comments-stream}) that ignores the slow-call settings.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    /**
+     * Semaphore bulkhead settings.
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        private int maxConcurrentCalls;
+
+        /**
+         * How long a call waits for a permit before falling back; zero fails fast.
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        Bulkhead(final int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Total attempts per call, including the first.
+         */
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private double backoffMultiplier = 2;
+
+        /**
+         * Each backoff is randomized by up to this fraction either way.
+         */
+        private double jitter = 0.5;
+
+        /**
+         * Retries allowed per upstream call made, e.g. 0.2 lets retries add at most 20% load on top.
+         */
+        private double budgetRatio = 0.2;
+
+        /**
+         * Retries allowed per second regardless of traffic, so that low-traffic periods can still retry.
+         */
+        private double budgetMinPerSecond = 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Whether serialized response bodies are kept and reused while the content version is unchanged.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the bytes held across all cached representations.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(16);
+
+    /**
+     * Whether a gzip variant is served to clients sending {@code Accept-Encoding: gzip}.
+     */
+    private boolean gzip = true;
+
+    /**
+     * Bodies smaller than this are always sent uncompressed.
+     */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
@@ -0,0 +1,30 @@
+package com.audition.configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled;
+
+    /**
+     * Local file holding the last written snapshot; it is replaced atomically on every write.
+     */
+    private Path path = Path.of("data", "audition.snapshot");
+
+    /**
+     * Delay between two snapshot writes. A final snapshot is also written on shutdown.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Snapshots older than this are ignored at startup and the caches start cold.
+     */
+    private Duration maxAge = Duration.ofHours(1);
+}
@@ -0,0 +1,149 @@
+package com.audition.configuration;
+
+import com.audition.common.metrics.PhaseTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every upstream exchange, retries and hedged attempts included, as {@value #EXCHANGES} from sending the request
+ * until the response is closed, tagged by route, status and outcome; the wait for the status line and headers is also
+ * recorded as the {@link PhaseTimers#FIRST_BYTE} phase. The route is derived from the path into the same small set the
+ * client uses for its circuit breakers, so arbitrary ids never become tag values.
+ */
+@Component
+public class UpstreamTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String EXCHANGES = "audition.upstream.requests";
+
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry registry;
+    private final PhaseTimers phaseTimers;
+
+    public UpstreamTimingInterceptor(final MeterRegistry registry, final PhaseTimers phaseTimers) {
+        this.registry = registry;
+        this.phaseTimers = phaseTimers;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        final String route = routeOf(request.getURI().getPath());
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (final IOException | RuntimeException e) {
+            exchangeTimer(route, IO_ERROR, Outcome.UNKNOWN).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        phaseTimers.upstream(route, PhaseTimers.FIRST_BYTE, System.nanoTime() - start);
+        return new TimedResponse(response, route, start);
+    }
+
+    /**
+     * {@code posts}, {@code post} or {@code comments}, matching the client's endpoint names, or {@code other}.
+     */
+    static String routeOf(final String path) {
+        if (path == null) {
+            return "other";
+        }
+        final String[] segments = path.startsWith("/") ? path.substring(1).split("/") : path.split("/");
+        if (segments.length == 1) {
+            return switch (segments[0]) {
+                case "posts" -> "posts";
+                case "comments" -> "comments";
+                default -> "other";
+            };
+        }
+        if ("posts".equals(segments[0])) {
+            if (segments.length == 2) {
+                return "post";
+            }
+            if (segments.length == 3 && "comments".equals(segments[2])) {
+                return "comments";
+            }
+        }
+        return "other";
+    }
+
+    private Timer exchangeTimer(final String route, final String status, final Outcome outcome) {
+        return Timer.builder(EXCHANGES)
+            .tag("route", route)
+            .tag("status", status)
+            .tag("outcome", outcome.name())
+            .register(registry);
+    }
+
+    /**
+     * Records the exchange once, when the response is closed after its body has been consumed.
+     */
+    private final class TimedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String route;
+        private final long start;
+        private boolean recorded;
+
+        TimedResponse(final ClientHttpResponse delegate, final String route, final long start) {
+            this.delegate = delegate;
+            this.route = route;
+            this.start = start;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            if (recorded) {
+                delegate.close();
+                return;
+            }
+            recorded = true;
+            final Timer timer = timerForStatus();
+            try {
+                delegate.close();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer timerForStatus() {
+            try {
+                final int code = delegate.getStatusCode().value();
+                return exchangeTimer(route, String.valueOf(code), Outcome.forStatus(code));
+            } catch (final IOException e) {
+                return exchangeTimer(route, IO_ERROR, Outcome.UNKNOWN);
+            }
+        }
+    }
+}
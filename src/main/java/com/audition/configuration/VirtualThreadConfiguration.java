@@ -0,0 +1,42 @@
+package com.audition.configuration;
+
+import java.util.concurrent.ExecutorService;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Opt-in virtual-thread execution ({@code application.virtual-threads.enabled}): Tomcat hands each request to a new
+ * virtual thread instead of its bounded worker pool, and {@code applicationTaskExecutor} (used for MVC async results)
+ * does the same. Pair with {@code application.connection.transport=jdk} so blocking upstream calls park rather than
+ * pin.
+ */
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfiguration {
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("virtual-");
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler(
+        final ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+    public AsyncTaskExecutor applicationTaskExecutor(final ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
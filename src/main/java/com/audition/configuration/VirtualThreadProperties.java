@@ -0,0 +1,16 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Run servlet requests, MVC async work and cache loads on virtual threads. Requires JDK 21.
+     */
+    private boolean enabled;
+}
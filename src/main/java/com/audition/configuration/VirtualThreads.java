@@ -0,0 +1,42 @@
+package com.audition.configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to JDK 21 virtual threads from code compiled for Java 17.
+ */
+public final class VirtualThreads {
+
+    private static final int MINIMUM_FEATURE_VERSION = 21;
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= MINIMUM_FEATURE_VERSION;
+    }
+
+    /**
+     * Executor that starts a new virtual thread per task, named {@code prefix} followed by a counter.
+     *
+     * @throws IllegalStateException when the running JDK has no virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require JDK " + MINIMUM_FEATURE_VERSION
+                + " or later, running on " + Runtime.version());
+        }
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            final ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, factory);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available on " + Runtime.version(), e);
+        }
+    }
+}
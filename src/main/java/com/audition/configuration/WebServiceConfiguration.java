@@ -1,9 +1,10 @@
 package com.audition.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -36,13 +37,17 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        final RestTemplate restTemplate = new RestTemplate(
-            new BufferingClientHttpRequestFactory(createClientFactory()));
+    public RestTemplate restTemplate(final ObjectProvider<ClientHttpRequestFactory> upstreamRequestFactory,
+        final ObjectProvider<LoggingInterceptor> loggingInterceptor,
+        final ObjectProvider<UpstreamTimingInterceptor> timingInterceptor) {
+        // Responses are streamed, not buffered: LoggingInterceptor peeks at sampled bodies while they are read.
+        final RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory.getIfAvailable(this::createClientFactory));
         // TODO use object mapper
         // TODO create a logging interceptor that logs request/response for rest template calls.
         List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
-        interceptors.add(new LoggingInterceptor());
+        // outermost, so that logging is part of the timed exchange like any other client-side cost
+        timingInterceptor.ifAvailable(interceptors::add);
+        interceptors.add(loggingInterceptor.getIfAvailable(LoggingInterceptor::new));
         restTemplate.setInterceptors(interceptors);
         restTemplate.setMessageConverters(
                 restTemplate.getMessageConverters().stream()
@@ -1,22 +1,35 @@
 package com.audition.integration;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.jfr.UpstreamCallEvent;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.common.metrics.PhaseTimers;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 
 @Component
@@ -27,28 +40,35 @@ public class AuditionIntegrationClient {
     private AuditionLogger auditionLogger;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private UpstreamRequestCoalescer requestCoalescer;
+    @Autowired
+    private UpstreamResilience resilience;
+    @Autowired
+    private UpstreamHedger hedger;
+    @Autowired
+    private PhaseTimers phaseTimers;
 
     private static final Logger log = LoggerFactory.getLogger(AuditionIntegrationClient.class);
 
+    /**
+     * Upstream endpoints, each guarded by its own circuit breaker.
+     */
+    static final String POSTS = "posts";
+    static final String POST = "post";
+    static final String COMMENTS = "comments";
+
     String POSTS_JSON = "https://jsonplaceholder.typicode.com/posts";
 	String COMMENTS_JSON = "https://jsonplaceholder.typicode.com/comments";
 
-    private HttpEntity<String> handleRequest() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
-        return new HttpEntity<>(headers);
-    }
+    private static final RequestCallback ACCEPT_JSON =
+        request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
 
     public List<AuditionPost> getPosts() {
         // TODO make RestTemplate call to get Posts from https://jsonplaceholder.typicode.com/posts
         auditionLogger.info(log, "calling getPosts() external service");
-        HttpEntity<String> entity = handleRequest();
-        String jsonString = restTemplate.exchange(POSTS_JSON, HttpMethod.GET, entity, String.class).getBody();
         try {
-            return Arrays.asList(objectMapper.readValue(jsonString, AuditionPost[].class));
-        } catch (JsonProcessingException e) {
-            auditionLogger.logErrorWithException(log, "JSON parsing error in getPosts() message: {}", e);
-            throw new SystemException("Error while parsing JSON string ", 500, e);
+            return fetchList(POSTS, POSTS_JSON, AuditionPost.class, "getPosts()");
         } catch (HttpClientErrorException e) {
             handleHttpClientErrorException(e, POSTS_JSON);
         }
@@ -58,38 +78,21 @@ public class AuditionIntegrationClient {
     public AuditionPost getPostById(final String id) {
         // TODO get post by post ID call from https://jsonplaceholder.typicode.com/posts/
         auditionLogger.info(log, "calling getPostById() external service for id: {}", id);
-        HttpEntity<String> entity = handleRequest();
-        AuditionPost auditionPost = null;
         try {
-            String jsonString = restTemplate.exchange(POSTS_JSON + "/" + id, HttpMethod.GET, entity, String.class).getBody();
-            auditionPost = objectMapper.readValue(jsonString, AuditionPost.class);
-        }catch (JsonProcessingException e) {
-			auditionLogger.logErrorWithException(log, "JSON parsing error in getPostById() message: ", e);
-			throw new SystemException("Error while parsing JSON string ", 500, e);
-		} catch (final HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found",
-                    404);
-            } else {
-                // TODO Find a better way to handle the exception so that the original error message is not lost. Feel free to change this function.
-                throw new SystemException("Error retrieving post", e.getMessage(), e.getStatusCode().value());
-            }
+            return fetchOne(POST, POSTS_JSON + "/" + id, AuditionPost.class, "getPostById()");
+        } catch (final HttpClientErrorException e) {
+            throw UpstreamErrors.postLookupFailed(id, e.getStatusCode(), e.getMessage());
         }
-        return auditionPost;
     }
 
     // TODO Write a method GET comments for a post from https://jsonplaceholder.typicode.com/posts/{postId}/comments - the comments must be returned as part of the post.
     public List<Comment> getCommentsForPost(final String postId) {
         auditionLogger.info(log, "calling getComments() external service for postId: {}", postId);
-        HttpEntity<String> entity = handleRequest();
-        String jsonString = restTemplate.exchange(POSTS_JSON + "/" + postId + "/comments", HttpMethod.GET, entity, String.class).getBody();
+        final String url = POSTS_JSON + "/" + postId + "/comments";
         try {
-            return Arrays.asList(objectMapper.readValue(jsonString, Comment[].class));
-        } catch (JsonProcessingException e) {
-            auditionLogger.logErrorWithException(log, "JSON parsing error in getComments() message: {}", e);
-            throw new SystemException("Error while parsing JSON string", 500, e);
+            return fetchList(COMMENTS, url, Comment.class, "getComments()");
         } catch (HttpClientErrorException e) {
-            handleHttpClientErrorException(e, POSTS_JSON + "/" + postId + "/comments");
+            handleHttpClientErrorException(e, url);
         }
         return new ArrayList<>();
     }
@@ -98,31 +101,245 @@ public class AuditionIntegrationClient {
     // The comments are a separate list that needs to be returned to the API consumers. Hint: this is not part of the AuditionPost pojo.
     public List<Comment> getCommentsForPostByQueryParam(final String postId) {
         auditionLogger.info(log, "calling getCommentByPostId() external service for postId: {}", postId);
-        HttpEntity<String> entity = handleRequest();
+        final String url = COMMENTS_JSON + "?postId=" + postId;
         List<Comment> comments = null;
         try {
-            String jsonString = restTemplate.exchange(COMMENTS_JSON + "?postId=" + postId, HttpMethod.GET, entity, String.class).getBody();
-            comments = Arrays.asList(objectMapper.readValue(jsonString, Comment[].class));
-        } catch (JsonProcessingException e) {
-            auditionLogger.logErrorWithException(log, "JSON parsing error in getCommentByPostId() message: {}", e);
-            throw new SystemException("Error while parsing JSON string", 500, e);
+            comments = fetchList(COMMENTS, url, Comment.class, "getCommentByPostId()");
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, url);
+        }
+        return comments;
+    }
+
+    /**
+     * Fetches several posts with one upstream call, keyed by id. Ids unknown upstream are absent from the result.
+     */
+    public Map<String, AuditionPost> getPostsByIds(final Collection<String> ids) {
+        auditionLogger.info(log, "calling getPostsByIds() external service for ids: {}", ids);
+        final String url = POSTS_JSON + "?" + queryOf("id", ids);
+        final Map<String, AuditionPost> posts = new HashMap<>();
+        try {
+            for (final AuditionPost post : fetchList(POSTS, url, AuditionPost.class, "getPostsByIds()")) {
+                posts.put(String.valueOf(post.getId()), post);
+            }
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, url);
+        }
+        return posts;
+    }
+
+    /**
+     * Fetches the comments of several posts with one upstream call, keyed by post id. Every requested id is present;
+     * posts without comments map to an empty list.
+     */
+    public Map<String, List<Comment>> getCommentsForPosts(final Collection<String> postIds) {
+        auditionLogger.info(log, "calling getCommentsForPosts() external service for postIds: {}", postIds);
+        final String url = COMMENTS_JSON + "?" + queryOf("postId", postIds);
+        final Map<String, List<Comment>> comments = new HashMap<>();
+        for (final String postId : postIds) {
+            comments.put(postId, new ArrayList<>());
+        }
+        try {
+            for (final Comment comment : fetchList(COMMENTS, url, Comment.class, "getCommentsForPosts()")) {
+                final List<Comment> forPost = comments.get(String.valueOf(comment.getPostId()));
+                if (forPost != null) {
+                    forPost.add(comment);
+                }
+            }
         } catch (HttpClientErrorException e) {
-            handleHttpClientErrorException(e, COMMENTS_JSON + "?postId=" + postId);
+            handleHttpClientErrorException(e, url);
         }
+        comments.replaceAll((postId, forPost) -> Collections.unmodifiableList(forPost));
         return comments;
     }
 
+    private static String queryOf(final String name, final Collection<String> values) {
+        return values.stream().map(value -> name + "=" + value).collect(Collectors.joining("&"));
+    }
+
+    /**
+     * Streams every post to {@code consumer} as it is parsed, without materializing the response.
+     */
+    public void streamPosts(final Consumer<? super AuditionPost> consumer) {
+        auditionLogger.info(log, "streaming posts from external service");
+        try {
+            resilience.executeStreaming(POSTS,
+                () -> stream(POSTS, POSTS_JSON, AuditionPost.class, consumer, "streamPosts()"));
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, POSTS_JSON);
+        }
+    }
+
+    /**
+     * Streams every comment of every post to {@code consumer} as it is parsed, without materializing the response.
+     */
+    public void streamComments(final Consumer<? super Comment> consumer) {
+        auditionLogger.info(log, "streaming comments from external service");
+        try {
+            resilience.executeStreaming(COMMENTS,
+                () -> stream(COMMENTS, COMMENTS_JSON, Comment.class, consumer, "streamComments()"));
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, COMMENTS_JSON);
+        }
+    }
+
+    /**
+     * Like {@link #streamPosts}, for the mirror sync, which holds a permit of the sync bulkhead instead of an export's.
+     */
+    public void syncPosts(final Consumer<? super AuditionPost> consumer) {
+        auditionLogger.info(log, "syncing posts from external service");
+        try {
+            resilience.executeSync(POSTS, () -> stream(POSTS, POSTS_JSON, AuditionPost.class, consumer, "syncPosts()"));
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, POSTS_JSON);
+        }
+    }
+
+    /**
+     * Like {@link #streamComments}, for the mirror sync, which holds a permit of the sync bulkhead instead of an
+     * export's.
+     */
+    public void syncComments(final Consumer<? super Comment> consumer) {
+        auditionLogger.info(log, "syncing comments from external service");
+        try {
+            resilience.executeSync(COMMENTS,
+                () -> stream(COMMENTS, COMMENTS_JSON, Comment.class, consumer, "syncComments()"));
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, COMMENTS_JSON);
+        }
+    }
+
+    /**
+     * Like {@link #syncPosts}, but sends the validators of {@code previous} and streams nothing when the upstream
+     * answers {@code 304 Not Modified}.
+     */
+    public ConditionalFetch streamPostsIfChanged(final ConditionalFetch previous,
+        final Consumer<? super AuditionPost> consumer) {
+        return streamIfChanged(POSTS, POSTS_JSON, AuditionPost.class, previous, consumer, "streamPostsIfChanged()");
+    }
+
+    /**
+     * Like {@link #syncComments}, but sends the validators of {@code previous} and streams nothing when the upstream
+     * answers {@code 304 Not Modified}.
+     */
+    public ConditionalFetch streamCommentsIfChanged(final ConditionalFetch previous,
+        final Consumer<? super Comment> consumer) {
+        return streamIfChanged(COMMENTS, COMMENTS_JSON, Comment.class, previous, consumer, "streamCommentsIfChanged()");
+    }
+
+    private <T> ConditionalFetch streamIfChanged(final String endpoint, final String url, final Class<T> type,
+        final ConditionalFetch previous, final Consumer<? super T> consumer, final String operation) {
+        auditionLogger.info(log, "conditionally streaming {} from external service", endpoint);
+        final RequestCallback conditional = request -> {
+            ACCEPT_JSON.doWithRequest(request);
+            if (previous.etag() != null) {
+                request.getHeaders().setIfNoneMatch(previous.etag());
+            }
+            if (previous.lastModified() != null) {
+                request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+            }
+        };
+        final AtomicReference<ConditionalFetch> result = new AtomicReference<>();
+        try {
+            resilience.executeSync(endpoint, () -> result.set(restTemplate.execute(URI.create(url), HttpMethod.GET,
+                conditional, response -> {
+                    if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return previous.notModified();
+                    }
+                    final long bodyBytes = parse(endpoint, url, response, operation, body -> {
+                        JsonArrays.forEach(objectMapper, body, type, body.excluding(consumer));
+                        return body.bytes();
+                    });
+                    return new ConditionalFetch(true, response.getHeaders().getETag(),
+                        response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED), bodyBytes);
+                })));
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e, url);
+        }
+        return result.get();
+    }
+
+    /**
+     * GETs and parses a JSON array.
+     */
+    private <T> List<T> fetchList(final String endpoint, final String url, final Class<T> type,
+        final String operation) {
+        return upstreamCall(endpoint, url, () -> {
+            final List<T> records = new ArrayList<>();
+            stream(endpoint, url, type, records::add, operation);
+            return Collections.unmodifiableList(records);
+        });
+    }
+
+    /**
+     * GETs and parses a single JSON object.
+     */
+    private <T> T fetchOne(final String endpoint, final String url, final Class<T> type, final String operation) {
+        return upstreamCall(endpoint, url, () -> restTemplate.execute(URI.create(url), HttpMethod.GET, ACCEPT_JSON,
+            response -> parse(endpoint, url, response, operation, body -> objectMapper.readValue(body, type))));
+    }
+
+    /**
+     * Concurrent calls for the same URL share one upstream request and its result; that request is guarded by
+     * {@link UpstreamResilience} and, for hedged endpoints, raced against a second attempt when slow.
+     */
+    private <T> T upstreamCall(final String endpoint, final String url, final Supplier<T> call) {
+        return requestCoalescer.execute(url, () -> resilience.execute(endpoint, url, () -> hedger.execute(endpoint, call)));
+    }
+
+    private <T> void stream(final String endpoint, final String url, final Class<T> type,
+        final Consumer<? super T> consumer, final String operation) {
+        restTemplate.execute(URI.create(url), HttpMethod.GET, ACCEPT_JSON,
+            response -> parse(endpoint, url, response, operation, body -> {
+                JsonArrays.forEach(objectMapper, body, type, body.excluding(consumer));
+                return null;
+            }));
+    }
+
+    /**
+     * Runs {@code reader} on the response body, mapping malformed JSON to a {@link SystemException}; left as an
+     * {@link IOException} it would be reported by {@link RestTemplate} as an I/O failure instead. The time spent
+     * reading and parsing the body is recorded as phases of {@code endpoint} and, when JFR records it, as an
+     * {@link UpstreamCallEvent}.
+     */
+    private <T> T parse(final String endpoint, final String url, final ClientHttpResponse response,
+        final String operation, final BodyReader<T> reader) throws IOException {
+        final TimedInputStream body = new TimedInputStream(response.getBody());
+        final UpstreamCallEvent event = new UpstreamCallEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        try {
+            return reader.read(body);
+        } catch (JsonProcessingException e) {
+            auditionLogger.atError(log).message("JSON parsing error").field("operation", operation).cause(e).log();
+            throw UpstreamErrors.malformedJson(e);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            body.record(phaseTimers, endpoint, elapsed);
+            event.end();
+            if (event.shouldCommit()) {
+                event.route = endpoint;
+                event.urlTemplate = UpstreamCallEvent.template(url);
+                event.status = response.getStatusCode().value();
+                event.bytes = body.bytes();
+                event.readTime = body.readNanos();
+                event.parseTime = body.parseNanos(elapsed);
+                event.commit();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+
+        T read(TimedInputStream body) throws IOException;
+    }
+
     
     private void handleHttpClientErrorException(HttpClientErrorException e, String url) {
-        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-            //auditionLogger.logHttpStatusCodeError(log, "HTTP client error: Not Found (404) while calling URL: {}", url, Integer.valueOf(404));
-            throw new SystemException("Resource not found at URL: " + url, e.getMessage(), e.getStatusCode().value());
-        } else {
-            ProblemDetail problemDetail = ProblemDetail.forStatus(e.getStatusCode());
-            problemDetail.setTitle("HttpClientErrorException");
-            problemDetail.setDetail("Error while calling URL: " + url);
-            auditionLogger.logStandardProblemDetail(log, problemDetail, e);
-            throw new SystemException("HttpClientErrorException occurred while calling URL: " + url, e.getMessage(), e.getStatusCode().value());
+        if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
+            auditionLogger.logStandardProblemDetail(log, UpstreamErrors.problemDetail(url, e.getStatusCode()), e);
         }
+        throw UpstreamErrors.clientError(url, e.getStatusCode(), e.getMessage());
     }
 }
@@ -0,0 +1,22 @@
+package com.audition.integration;
+
+/**
+ * Outcome of a conditional upstream GET: the validators to send with the next request and, when the resource changed,
+ * the number of body bytes read.
+ *
+ * @param modified   {@code false} when the upstream answered {@code 304 Not Modified}; nothing was streamed
+ * @param etag       {@code ETag} to send as {@code If-None-Match}, or {@code null}
+ * @param lastModified {@code Last-Modified} to send as {@code If-Modified-Since}, or {@code null}
+ * @param bodyBytes  response body bytes read, after content decoding
+ */
+public record ConditionalFetch(boolean modified, String etag, String lastModified, long bodyBytes) {
+
+    /**
+     * Validators for a first request, which is always answered in full.
+     */
+    public static final ConditionalFetch NONE = new ConditionalFetch(true, null, null, 0);
+
+    ConditionalFetch notModified() {
+        return new ConditionalFetch(false, etag, lastModified, 0);
+    }
+}
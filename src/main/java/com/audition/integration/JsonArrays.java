@@ -0,0 +1,36 @@
+package com.audition.integration;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Token-level reading of top-level JSON arrays, binding one element at a time so that neither the raw payload nor
+ * the full record array has to be held in memory. Anything but a complete array of objects, a truncated body
+ * included, fails with a {@link JsonParseException} rather than yielding a partial list.
+ */
+public final class JsonArrays {
+
+    private JsonArrays() {
+    }
+
+    public static <T> void forEach(final ObjectMapper objectMapper, final InputStream body, final Class<T> type,
+        final Consumer<? super T> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array but got " + parser.currentToken());
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                consumer.accept(objectMapper.readValue(parser, type));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected an object or the end of the array but got " + token);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.audition.integration;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twin of {@link AuditionIntegrationClient}. Arrays are decoded element by element as they arrive, and
+ * upstream 4xx responses and malformed JSON map to the same {@code SystemException}s as the blocking client.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.reactive", name = "enabled", havingValue = "true")
+public class ReactiveAuditionIntegrationClient {
+
+    @Autowired
+    private WebClient upstreamWebClient;
+    @Autowired
+    private AuditionLogger auditionLogger;
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuditionIntegrationClient.class);
+
+    String POSTS_JSON = "https://jsonplaceholder.typicode.com/posts";
+    String COMMENTS_JSON = "https://jsonplaceholder.typicode.com/comments";
+
+    public Flux<AuditionPost> getPosts() {
+        auditionLogger.info(log, "calling getPosts() external service");
+        return fetchMany(POSTS_JSON, AuditionPost.class, "getPosts()");
+    }
+
+    public Mono<AuditionPost> getPostById(final String id) {
+        auditionLogger.info(log, "calling getPostById() external service for id: {}", id);
+        return get(POSTS_JSON + "/" + id)
+            .bodyToMono(AuditionPost.class)
+            .onErrorMap(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                ? UpstreamErrors.postLookupFailed(id, e.getStatusCode(), e.getMessage()) : e)
+            .onErrorMap(DecodingException.class, e -> malformedJson(e, "getPostById()"));
+    }
+
+    public Flux<Comment> getCommentsForPost(final String postId) {
+        auditionLogger.info(log, "calling getComments() external service for postId: {}", postId);
+        return fetchMany(POSTS_JSON + "/" + postId + "/comments", Comment.class, "getComments()");
+    }
+
+    public Flux<Comment> getCommentsForPostByQueryParam(final String postId) {
+        auditionLogger.info(log, "calling getCommentByPostId() external service for postId: {}", postId);
+        return fetchMany(COMMENTS_JSON + "?postId=" + postId, Comment.class, "getCommentByPostId()");
+    }
+
+    private <T> Flux<T> fetchMany(final String url, final Class<T> type, final String operation) {
+        return get(url)
+            .bodyToFlux(type)
+            .onErrorMap(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                ? clientError(e, url) : e)
+            .onErrorMap(DecodingException.class, e -> malformedJson(e, operation));
+    }
+
+    private WebClient.ResponseSpec get(final String url) {
+        return upstreamWebClient.get()
+            .uri(URI.create(url))
+            .accept(MediaType.APPLICATION_JSON)
+            .retrieve();
+    }
+
+    private Throwable clientError(final WebClientResponseException e, final String url) {
+        if (e.getStatusCode().value() != HttpStatus.NOT_FOUND.value()) {
+            auditionLogger.logStandardProblemDetail(log, UpstreamErrors.problemDetail(url, e.getStatusCode()), e);
+        }
+        return UpstreamErrors.clientError(url, e.getStatusCode(), e.getMessage());
+    }
+
+    private Throwable malformedJson(final DecodingException e, final String operation) {
+        auditionLogger.atError(log).message("JSON parsing error").field("operation", operation).cause(e).log();
+        return UpstreamErrors.malformedJson(e);
+    }
+}
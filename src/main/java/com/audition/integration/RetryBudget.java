@@ -0,0 +1,73 @@
+package com.audition.integration;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket bounding retries to a fraction of upstream traffic. Every call deposits {@code ratio} tokens, time
+ * deposits {@code minPerSecond} tokens per second, and every retry withdraws one. When the upstream is failing hard the
+ * bucket drains and calls fail after one attempt instead of multiplying the load.
+ */
+final class RetryBudget {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double capacity;
+    private final LongSupplier nanoTime;
+    private final Lock lock = new ReentrantLock();
+    private double tokens;
+    private long lastRefill;
+
+    RetryBudget(final double ratio, final double minPerSecond, final LongSupplier nanoTime) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        // roughly ten seconds worth of minimum retries can be banked
+        this.capacity = Math.max(1, minPerSecond * 10);
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.lastRefill = nanoTime.getAsLong();
+    }
+
+    void recordCall() {
+        lock.lock();
+        try {
+            refill();
+            tokens = Math.min(capacity, tokens + ratio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean tryAcquireRetry() {
+        lock.lock();
+        try {
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double available() {
+        lock.lock();
+        try {
+            refill();
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        final long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) / NANOS_PER_SECOND * minPerSecond);
+        lastRefill = now;
+    }
+}
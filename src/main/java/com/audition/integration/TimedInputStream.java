@@ -0,0 +1,100 @@
+package com.audition.integration;
+
+import com.audition.common.metrics.PhaseTimers;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Upstream response body that counts its bytes and adds up the time spent blocked in {@code read}, so that parsing it
+ * can be split into {@link PhaseTimers#BODY_READ} and {@link PhaseTimers#DESERIALIZE}. Time spent in the consumers of
+ * parsed records, which run between reads, can be set aside with {@link #excluding}.
+ */
+final class TimedInputStream extends FilterInputStream {
+
+    private long bytes;
+    private long readNanos;
+    private long excludedNanos;
+
+    TimedInputStream(final InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final int b = super.read();
+            if (b >= 0) {
+                bytes++;
+            }
+            return b;
+        } finally {
+            readNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytes += read;
+            }
+            return read;
+        } finally {
+            readNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final long skipped = super.skip(n);
+            bytes += skipped;
+            return skipped;
+        } finally {
+            readNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * {@code consumer}, with the time it takes left out of the phases.
+     */
+    <T> Consumer<T> excluding(final Consumer<? super T> consumer) {
+        return record -> {
+            final long start = System.nanoTime();
+            try {
+                consumer.accept(record);
+            } finally {
+                excludedNanos += System.nanoTime() - start;
+            }
+        };
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    long readNanos() {
+        return readNanos;
+    }
+
+    /**
+     * Parse time of a read of this body that took {@code elapsedNanos} in total: neither reading nor consuming records.
+     */
+    long parseNanos(final long elapsedNanos) {
+        return Math.max(0, elapsedNanos - readNanos - excludedNanos);
+    }
+
+    /**
+     * Records the phases of a parse of this body that took {@code elapsedNanos} in total.
+     */
+    void record(final PhaseTimers phaseTimers, final String endpoint, final long elapsedNanos) {
+        phaseTimers.upstream(endpoint, PhaseTimers.BODY_READ, readNanos);
+        phaseTimers.upstream(endpoint, PhaseTimers.DESERIALIZE, parseNanos(elapsedNanos));
+    }
+}
@@ -0,0 +1,49 @@
+package com.audition.integration;
+
+import com.audition.common.exception.ExpectedException;
+import com.audition.common.exception.SystemException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Mapping of upstream failures to {@link SystemException}, shared by the blocking and reactive clients. Both
+ * controllers leave rendering to {@code ExceptionControllerAdvice}, so a failure gets the same problem status, title and
+ * detail on either. Upstream 404s are ordinary answers to unknown ids and map to a stackless {@link ExpectedException}.
+ */
+final class UpstreamErrors {
+
+    static final String MALFORMED_JSON = "Error while parsing JSON string";
+
+    private UpstreamErrors() {
+    }
+
+    static SystemException postLookupFailed(final String id, final HttpStatusCode status, final String message) {
+        if (status.value() == HttpStatus.NOT_FOUND.value()) {
+            return new ExpectedException("Cannot find a Post with id " + id, "Resource Not Found", 404);
+        }
+        return new SystemException("Error retrieving post", message, status.value());
+    }
+
+    static SystemException clientError(final String url, final HttpStatusCode status, final String message) {
+        if (status.value() == HttpStatus.NOT_FOUND.value()) {
+            return new ExpectedException("Resource not found at URL: " + url, message, status.value());
+        }
+        return new SystemException("HttpClientErrorException occurred while calling URL: " + url, message,
+            status.value());
+    }
+
+    /**
+     * Problem logged for non-404 client errors before they are rethrown.
+     */
+    static ProblemDetail problemDetail(final String url, final HttpStatusCode status) {
+        final ProblemDetail problemDetail = ProblemDetail.forStatus(status);
+        problemDetail.setTitle("HttpClientErrorException");
+        problemDetail.setDetail("Error while calling URL: " + url);
+        return problemDetail;
+    }
+
+    static SystemException malformedJson(final Exception cause) {
+        return new SystemException(MALFORMED_JSON, 500, cause);
+    }
+}
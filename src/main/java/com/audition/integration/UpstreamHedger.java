@@ -0,0 +1,268 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.BoundedExecutors;
+import com.audition.configuration.HedgingProperties;
+import com.audition.configuration.VirtualThreadProperties;
+import com.audition.configuration.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedged requests: when an attempt has not answered within the endpoint's recent latency percentile, an identical
+ * second attempt is sent, the first successful answer wins and the other attempt is cancelled. The delay comes from an
+ * HdrHistogram of completed attempts, recomputed about once a second once {@code min-samples} latencies are in, and
+ * hedges are limited per endpoint by a {@link RetryBudget} (a hedge is a speculative retry) and overall to
+ * {@code max-concurrent-hedges} in flight.
+ *
+ * <p>Attempts run on a pool of {@code threads} platform threads, or a virtual thread each when virtual threads are
+ * enabled. A call that finds every thread busy runs unhedged on the caller, and a hedge that finds none is not sent.
+ *
+ * <p>Cancelling interrupts the losing attempt; only the {@code jdk} transport aborts its exchange on interrupt, the
+ * others finish in the background and their result is discarded.
+ */
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class UpstreamHedger {
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgingProperties properties;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore hedgeSlots;
+    private final ConcurrentMap<String, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamHedger(final HedgingProperties properties, final VirtualThreadProperties virtualThreads,
+        final MeterRegistry meterRegistry) {
+        this(properties, virtualThreads.isEnabled()
+            ? VirtualThreads.newThreadPerTaskExecutor("hedge-")
+            : BoundedExecutors.newPool("hedge-", properties.getThreads(), 0, new ThreadPoolExecutor.AbortPolicy()),
+            meterRegistry);
+    }
+
+    UpstreamHedger(final HedgingProperties properties, final ExecutorService executor,
+        final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.hedgeSlots = new Semaphore(properties.getMaxConcurrentHedges());
+    }
+
+    public <T> T execute(final String endpoint, final Supplier<T> call) {
+        if (!properties.isEnabled() || !properties.getEndpoints().contains(endpoint)) {
+            return call.get();
+        }
+        final EndpointLatency latency = endpoints.computeIfAbsent(endpoint, EndpointLatency::new);
+        latency.budget.recordCall();
+        final HedgedCall<T> hedgedCall = new HedgedCall<>(latency, call);
+        try {
+            hedgedCall.first = executor.submit(hedgedCall::attempt);
+        } catch (final RejectedExecutionException e) {
+            return call.get();
+        }
+        try {
+            return hedgedCall.winner.get(latency.delayMicros(), TimeUnit.MICROSECONDS);
+        } catch (final TimeoutException e) {
+            hedge(latency, hedgedCall);
+            return hedgedCall.await();
+        } catch (final InterruptedException e) {
+            return hedgedCall.interrupted(e);
+        } catch (final ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends the second attempt if a hedge slot, a budget token and a thread are available. The slot is released when
+     * the attempt completes or is cancelled.
+     */
+    private void hedge(final EndpointLatency latency, final HedgedCall<?> hedgedCall) {
+        if (!hedgeSlots.tryAcquire()) {
+            return;
+        }
+        if (!latency.budget.tryAcquireRetry()) {
+            hedgeSlots.release();
+            return;
+        }
+        final FutureTask<Void> second = new FutureTask<>(hedgedCall::attempt, null) {
+            @Override
+            protected void done() {
+                hedgeSlots.release();
+            }
+        };
+        hedgedCall.pending.incrementAndGet();
+        try {
+            executor.execute(second);
+        } catch (final RejectedExecutionException e) {
+            hedgeSlots.release();
+            hedgedCall.notSent();
+            return;
+        }
+        hedgedCall.second = second;
+        latency.hedged.increment();
+    }
+
+    private static RuntimeException rethrow(final ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new SystemException("Upstream call failed", 500, e.getCause());
+    }
+
+    /**
+     * The attempts of one call. The first success completes {@code winner}; a failure only does once no other attempt
+     * is still pending.
+     */
+    private static final class HedgedCall<T> {
+
+        private final EndpointLatency latency;
+        private final Supplier<T> call;
+        private final CompletableFuture<T> winner = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private volatile Throwable failure;
+        private volatile Future<?> first;
+        private volatile Future<?> second;
+
+        HedgedCall(final EndpointLatency latency, final Supplier<T> call) {
+            this.latency = latency;
+            this.call = call;
+        }
+
+        void attempt() {
+            final long start = System.nanoTime();
+            try {
+                final T result = call.get();
+                latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                winner.complete(result);
+            } catch (final RuntimeException | Error e) {
+                failure = e;
+                if (pending.decrementAndGet() == 0) {
+                    winner.completeExceptionally(e);
+                }
+            }
+        }
+
+        /**
+         * Undoes the pending count of a hedge that could not be submitted.
+         */
+        void notSent() {
+            if (pending.decrementAndGet() == 0) {
+                winner.completeExceptionally(failure);
+            }
+        }
+
+        T await() {
+            try {
+                return winner.get();
+            } catch (final InterruptedException e) {
+                return interrupted(e);
+            } catch (final ExecutionException e) {
+                throw rethrow(e);
+            } finally {
+                cancelAll();
+            }
+        }
+
+        T interrupted(final InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while waiting for upstream", SERVICE_UNAVAILABLE, e);
+        }
+
+        private void cancelAll() {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Latency histogram, hedge delay and hedge budget of one endpoint.
+     */
+    private final class EndpointLatency {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 2);
+        private final Histogram window = new Histogram(HIGHEST_TRACKABLE_MICROS, 2);
+        private final Lock refreshLock = new ReentrantLock();
+        private final RetryBudget budget = new RetryBudget(properties.getMaxHedgeRate(), 0, System::nanoTime);
+        private final Counter hedged;
+        private Histogram interval;
+        private volatile long nextRefresh = System.nanoTime();
+        private volatile long delayMicros = toMicros(properties.getMaxDelay().toNanos());
+
+        EndpointLatency(final String endpoint) {
+            this.hedged = Counter.builder("audition.upstream.hedged")
+                .description("Second attempts sent because the first was slower than the hedge delay")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            Gauge.builder("audition.upstream.hedge.delay", this, latency -> latency.delayMicros / 1_000.0)
+                .description("Current hedge delay in milliseconds")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        }
+
+        void record(final long micros) {
+            recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        }
+
+        long delayMicros() {
+            final long now = System.nanoTime();
+            if (now - nextRefresh >= 0 && refreshLock.tryLock()) {
+                try {
+                    interval = recorder.getIntervalHistogram(interval);
+                    window.add(interval);
+                    if (window.getTotalCount() >= properties.getMinSamples()) {
+                        final long percentile = window.getValueAtPercentile(properties.getPercentile() * 100);
+                        delayMicros = Math.max(toMicros(properties.getMinDelay().toNanos()),
+                            Math.min(toMicros(properties.getMaxDelay().toNanos()), percentile));
+                        window.reset();
+                    }
+                    nextRefresh = now + REFRESH_INTERVAL_NANOS;
+                } finally {
+                    refreshLock.unlock();
+                }
+            }
+            return delayMicros;
+        }
+
+        private static long toMicros(final long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+}
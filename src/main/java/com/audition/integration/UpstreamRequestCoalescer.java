@@ -0,0 +1,142 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight de-duplication of upstream calls: while a call for a key is in flight, identical calls join it and
+ * receive its parsed result (or its exception) instead of going upstream themselves. A list or map result is handed to
+ * every caller as a read-only view, so no caller can change what the others see.
+ *
+ * <p>{@code audition.upstream.coalesced} counts the callers that joined, by outcome: {@code shared} when they got the
+ * result of the call they joined, {@code fetched-alone} when they stopped waiting and made their own call
+ * ({@code on-abandon: fetch-alone}), {@code timed-out} when they stopped waiting and failed.
+ */
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class UpstreamRequestCoalescer {
+
+    private static final int GATEWAY_TIMEOUT = 504;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final CoalescingProperties properties;
+    private final Counter shared;
+    private final Counter fetchedAlone;
+    private final Counter timedOut;
+
+    public UpstreamRequestCoalescer(final CoalescingProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.shared = outcome("shared", meterRegistry);
+        this.fetchedAlone = outcome("fetched-alone", meterRegistry);
+        this.timedOut = outcome("timed-out", meterRegistry);
+    }
+
+    private static Counter outcome(final String outcome, final MeterRegistry meterRegistry) {
+        return Counter.builder("audition.upstream.coalesced")
+            .description("Upstream calls that joined an identical in-flight call")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    public <T> T execute(final String key, final Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(key, flight, call);
+        }
+        return follow(key, existing, call);
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Callers currently waiting for a call they joined.
+     */
+    int waitingCount() {
+        return waiting.get();
+    }
+
+    private <T> T lead(final String key, final CompletableFuture<Object> flight, final Supplier<T> call) {
+        try {
+            final T result = readOnly(call.get());
+            flight.complete(result);
+            return result;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(final String key, final CompletableFuture<Object> flight, final Supplier<T> call) {
+        try {
+            final T result = (T) await(flight);
+            shared.increment();
+            return result;
+        } catch (final ExecutionException e) {
+            shared.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new SystemException("Shared upstream call failed for " + key, 500, e.getCause());
+        } catch (final TimeoutException e) {
+            if (properties.getOnAbandon() == CoalescingProperties.AbandonPolicy.FETCH_ALONE) {
+                fetchedAlone.increment();
+                return readOnly(call.get());
+            }
+            timedOut.increment();
+            throw new SystemException("Timed out waiting for upstream call " + key, GATEWAY_TIMEOUT, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while waiting for upstream call " + key, SERVICE_UNAVAILABLE, e);
+        }
+    }
+
+    private Object await(final CompletableFuture<Object> flight)
+        throws ExecutionException, TimeoutException, InterruptedException {
+        waiting.incrementAndGet();
+        try {
+            return flight.get(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T readOnly(final T result) {
+        if (result instanceof List<?> list) {
+            return (T) Collections.unmodifiableList(list);
+        }
+        if (result instanceof Map<?, ?> map) {
+            return (T) Collections.unmodifiableMap(map);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,220 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ResilienceProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Guards upstream calls with a retry (jittered exponential backoff, limited by a {@link RetryBudget}), a circuit
+ * breaker per endpoint and a semaphore bulkhead shared by all endpoints, in that order from the outside in. Streamed
+ * full reads have breakers and bulkheads of their own: they take as long as the client reads, so they neither take the
+ * permits of ordinary calls nor count as slow calls against their breakers, and exports and syncs hold separate
+ * permits, so that exports cannot hold off the mirror.
+ *
+ * <p>Only I/O failures and 5xx responses count as failures and are retried; 4xx responses are answers. When a breaker
+ * is open or the bulkhead is full, the last successful result for the same URL is returned, or a 503 when there is
+ * none. Breaker, bulkhead and retry state is published through Micrometer under {@code resilience4j.*}.
+ */
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class UpstreamResilience {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamResilience.class);
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final String BULKHEAD = "upstream";
+    private static final String STREAMING_BULKHEAD = "streaming";
+    private static final String SYNC_BULKHEAD = "sync";
+    private static final String STREAM_BREAKER_SUFFIX = "-stream";
+
+    private final ResilienceProperties properties;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RetryRegistry retries;
+    private final Bulkhead bulkhead;
+    private final Bulkhead streamingBulkhead;
+    private final Bulkhead syncBulkhead;
+    private final CircuitBreakerConfig streamBreakerConfig;
+    private final RetryBudget retryBudget;
+    private final Cache<String, Object> lastKnown;
+    private final AuditionLogger auditionLogger;
+
+    public UpstreamResilience(final ResilienceProperties properties, final MeterRegistry meterRegistry,
+        final AuditionLogger auditionLogger) {
+        this.properties = properties;
+        this.auditionLogger = auditionLogger;
+        final ResilienceProperties.Retry retry = properties.getRetry();
+        this.retryBudget = new RetryBudget(retry.getBudgetRatio(), retry.getBudgetMinPerSecond(), System::nanoTime);
+        this.circuitBreakers = CircuitBreakerRegistry.of(circuitBreakerConfig(properties.getCircuitBreaker()));
+        this.streamBreakerConfig = CircuitBreakerConfig.from(circuitBreakers.getDefaultConfig())
+            .slowCallRateThreshold(100)
+            .slowCallDurationThreshold(Duration.ofNanos(Long.MAX_VALUE))
+            .build();
+        this.retries = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(retry.getMaxAttempts())
+            .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(retry.getInitialBackoff(),
+                retry.getBackoffMultiplier(), retry.getJitter()))
+            .retryOnException(isFailure())
+            .build());
+        final BulkheadRegistry bulkheads = BulkheadRegistry.of(bulkheadConfig(properties.getBulkhead()));
+        this.bulkhead = bulkheads.bulkhead(BULKHEAD);
+        this.streamingBulkhead = bulkheads.bulkhead(STREAMING_BULKHEAD,
+            bulkheadConfig(properties.getStreamingBulkhead()));
+        this.syncBulkhead = bulkheads.bulkhead(SYNC_BULKHEAD, bulkheadConfig(properties.getSyncBulkhead()));
+        this.lastKnown = Caffeine.newBuilder().maximumSize(properties.getLastKnownSize()).build();
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        Gauge.builder("audition.upstream.retry.budget", retryBudget, RetryBudget::available)
+            .description("Retries the budget currently allows")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} against {@code endpoint}, remembering its result under {@code key} for fallbacks.
+     */
+    public <T> T execute(final String endpoint, final String key, final Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        retryBudget.recordCall();
+        final Supplier<T> guarded = Retry.decorateSupplier(retries.retry(endpoint),
+            budgeted(CircuitBreaker.decorateSupplier(circuitBreakers.circuitBreaker(endpoint),
+                Bulkhead.decorateSupplier(bulkhead, call))));
+        try {
+            final T result = guarded.get();
+            if (result != null) {
+                lastKnown.put(key, result);
+            }
+            return result;
+        } catch (final CallNotPermittedException | BulkheadFullException e) {
+            return fallback(key, e);
+        } catch (final RetryDenied e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Takes a retry token when an attempt fails and another attempt is left, and stops the retry when none is
+     * granted. Resilience4j evaluates the retry predicate before it checks the attempt count, so the budget cannot be
+     * consulted there without charging the final, unretried failure as well.
+     */
+    private <T> Supplier<T> budgeted(final Supplier<T> attempt) {
+        final int maxAttempts = properties.getRetry().getMaxAttempts();
+        final AtomicInteger failures = new AtomicInteger();
+        return () -> {
+            try {
+                return attempt.get();
+            } catch (final RuntimeException e) {
+                if (isFailure().test(e) && failures.incrementAndGet() < maxAttempts && !retryBudget.tryAcquireRetry()) {
+                    throw new RetryDenied(e);
+                }
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Runs a streamed export of {@code endpoint} through its stream breaker and the streaming bulkhead only: a streamed
+     * response may already have been partly consumed when it fails, so it is neither retried nor replaced by a
+     * fallback.
+     */
+    public void executeStreaming(final String endpoint, final Runnable call) {
+        stream(endpoint, streamingBulkhead, call);
+    }
+
+    /**
+     * Like {@link #executeStreaming}, for the mirror and delta syncs, which hold permits of the sync bulkhead instead.
+     */
+    public void executeSync(final String endpoint, final Runnable call) {
+        stream(endpoint, syncBulkhead, call);
+    }
+
+    private void stream(final String endpoint, final Bulkhead streamBulkhead, final Runnable call) {
+        if (!properties.isEnabled()) {
+            call.run();
+            return;
+        }
+        try {
+            CircuitBreaker.decorateRunnable(
+                circuitBreakers.circuitBreaker(endpoint + STREAM_BREAKER_SUFFIX, streamBreakerConfig),
+                Bulkhead.decorateRunnable(streamBulkhead, call)).run();
+        } catch (final CallNotPermittedException | BulkheadFullException e) {
+            throw new SystemException("Upstream " + endpoint + " is unavailable", SERVICE_UNAVAILABLE, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fallback(final String key, final RuntimeException cause) {
+        final Object known = lastKnown.getIfPresent(key);
+        if (known == null) {
+            throw new SystemException("Upstream unavailable and no last-known data for " + key,
+                SERVICE_UNAVAILABLE, cause);
+        }
+        auditionLogger.atWarn(log).message("serving last-known data").field("key", key)
+            .field("cause", cause.getMessage()).log();
+        return (T) known;
+    }
+
+    private static Predicate<Throwable> isFailure() {
+        return e -> e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+    }
+
+    /**
+     * A retryable failure the budget has no token for; not matched by the retry predicate, unwrapped by the caller.
+     */
+    private static final class RetryDenied extends RuntimeException {
+
+        RetryDenied(final RuntimeException cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    private static BulkheadConfig bulkheadConfig(final ResilienceProperties.Bulkhead bulkhead) {
+        return BulkheadConfig.custom()
+            .maxConcurrentCalls(bulkhead.getMaxConcurrentCalls())
+            .maxWaitDuration(bulkhead.getMaxWait())
+            .build();
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(final ResilienceProperties.CircuitBreaker breaker) {
+        return CircuitBreakerConfig.custom()
+            .failureRateThreshold(breaker.getFailureRateThreshold())
+            .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(breaker.getSlowCallDurationThreshold())
+            .slidingWindowSize(breaker.getSlidingWindowSize())
+            .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+            .recordException(isFailure())
+            .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.audition.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An {@link AuditionPost} with its comments embedded.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class AuditionPostWithComments extends AuditionPost {
+
+    private List<Comment> comments;
+
+    public AuditionPostWithComments(final AuditionPost post, final List<Comment> comments) {
+        super(post.getUserId(), post.getId(), post.getTitle(), post.getBody());
+        this.comments = comments;
+    }
+}
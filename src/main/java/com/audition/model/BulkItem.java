@@ -0,0 +1,28 @@
+package com.audition.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One entry of a bulk response: the requested id with its HTTP-style status and either the data or an error message.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItem<T> {
+
+    private final String id;
+    private final int status;
+    private final T data;
+    private final String error;
+
+    public static <T> BulkItem<T> ok(final String id, final T data) {
+        return new BulkItem<>(id, 200, data, null);
+    }
+
+    public static <T> BulkItem<T> failed(final String id, final int status, final String error) {
+        return new BulkItem<>(id, status, null, error);
+    }
+}
@@ -0,0 +1,266 @@
+package com.audition.service;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.jfr.JfrStatsCounter;
+import com.audition.configuration.BoundedExecutors;
+import com.audition.configuration.CacheProperties;
+import com.audition.configuration.VirtualThreadProperties;
+import com.audition.configuration.VirtualThreads;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache in front of {@link AuditionIntegrationClient}.
+ *
+ * <p>Eviction is Caffeine's W-TinyLFU bounded by an estimated byte weight per resource. Entries older than
+ * {@code refresh-after} are served as-is while a reload runs on the refresh executor (stale-while-revalidate);
+ * entries older than {@code expire-after} are dropped.
+ *
+ * <p>Misses and refreshes load on the load executor while callers wait on the entry's future. A synchronous Caffeine
+ * load would run inside {@code ConcurrentHashMap.compute} and, on a virtual thread, pin its carrier for the whole
+ * upstream call. The load executor is a pool of {@code load-threads} platform threads with a queue of
+ * {@code load-queue-capacity} loads, or a virtual thread per load when virtual threads are enabled; a load that finds
+ * the queue full fails with a 503 rather than adding a thread.
+ */
+@Component
+@EnableConfigurationProperties({CacheProperties.class, VirtualThreadProperties.class})
+public class AuditionCache {
+
+    public static final String POSTS = "posts";
+    public static final String POST = "post";
+    public static final String COMMENTS = "comments";
+
+    private static final String ALL_POSTS_KEY = "all";
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final Executor loadExecutor;
+    private final AsyncLoadingCache<String, List<AuditionPost>> posts;
+    private final AsyncLoadingCache<String, AuditionPost> postsById;
+    private final AsyncLoadingCache<String, List<Comment>> commentsByPostId;
+
+    @Autowired
+    public AuditionCache(final AuditionIntegrationClient client, final CacheProperties properties,
+        final VirtualThreadProperties virtualThreads) {
+        this(client, properties, Ticker.systemTicker(), virtualThreads.isEnabled()
+            ? VirtualThreads.newThreadPerTaskExecutor("cache-load-")
+            : BoundedExecutors.newPool("cache-load-", properties.getLoadThreads(), properties.getLoadQueueCapacity(),
+                new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    AuditionCache(final AuditionIntegrationClient client, final CacheProperties properties, final Ticker ticker,
+        final Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+        this.posts = build("posts", properties.getPosts(), ticker, CacheWeights::ofPosts, key -> client.getPosts());
+        this.postsById = build("post", properties.getPost(), ticker, CacheWeights::ofPost,
+            bulk(client::getPostById, client::getPostsByIds));
+        this.commentsByPostId = build("comments", properties.getComments(), ticker, CacheWeights::ofComments,
+            bulk(client::getCommentsForPostByQueryParam, client::getCommentsForPosts));
+    }
+
+    private <V> AsyncLoadingCache<String, V> build(final String name, final CacheProperties.Resource resource,
+        final Ticker ticker, final Function<V, Integer> weigher, final CacheLoader<String, V> loader) {
+        return Caffeine.newBuilder()
+            .ticker(ticker)
+            .executor(loadExecutor)
+            .maximumWeight(resource.getMaximumWeight().toBytes())
+            .weigher((String key, V value) -> weigher.apply(value))
+            .refreshAfterWrite(resource.getRefreshAfter())
+            .expireAfterWrite(resource.getExpireAfter())
+            .recordStats(JfrStatsCounter.of(name))
+            .buildAsync(loader);
+    }
+
+    /**
+     * Loader whose misses in a {@code getAll} are fetched with one grouped upstream call.
+     */
+    private static <V> CacheLoader<String, V> bulk(final Function<String, V> load,
+        final Function<Set<String>, Map<String, V>> loadAll) {
+        return new CacheLoader<>() {
+            @Override
+            public V load(final String key) {
+                return load.apply(key);
+            }
+
+            @Override
+            public Map<String, V> loadAll(final Set<? extends String> keys) {
+                return loadAll.apply(Set.copyOf(keys));
+            }
+        };
+    }
+
+    public List<AuditionPost> getPosts() {
+        return join(posts, ALL_POSTS_KEY);
+    }
+
+    public AuditionPost getPostById(final String postId) {
+        return join(postsById, postId);
+    }
+
+    public List<Comment> getComments(final String postId) {
+        return join(commentsByPostId, postId);
+    }
+
+    /**
+     * Cached posts for {@code postIds}, loading all misses with one upstream call. Unknown ids are absent.
+     */
+    public Map<String, AuditionPost> getPostsById(final Collection<String> postIds) {
+        return joinAll(postsById, postIds);
+    }
+
+    /**
+     * Posts already cached for {@code postIds}, without going upstream.
+     */
+    public Map<String, AuditionPost> getCachedPostsById(final Collection<String> postIds) {
+        return postsById.synchronous().getAllPresent(postIds);
+    }
+
+    /**
+     * Cached comments for {@code postIds}, loading all misses with one upstream call.
+     */
+    public Map<String, List<Comment>> getComments(final Collection<String> postIds) {
+        return joinAll(commentsByPostId, postIds);
+    }
+
+    /**
+     * Comments already cached for {@code postIds}, without going upstream.
+     */
+    public Map<String, List<Comment>> getCachedComments(final Collection<String> postIds) {
+        return commentsByPostId.synchronous().getAllPresent(postIds);
+    }
+
+    /**
+     * The {@code /posts} list if it is cached, without going upstream.
+     */
+    public List<AuditionPost> getCachedPosts() {
+        return posts.synchronous().getIfPresent(ALL_POSTS_KEY);
+    }
+
+    /**
+     * Copy of every cached comment list keyed by post id.
+     */
+    public Map<String, List<Comment>> getAllCachedComments() {
+        return Map.copyOf(commentsByPostId.synchronous().asMap());
+    }
+
+    /**
+     * Fills the caches with previously fetched data, e.g. from a snapshot: the {@code /posts} list, each of its posts by
+     * id and the given comment lists. Seeded entries age from now like freshly loaded ones.
+     */
+    public void seed(final List<AuditionPost> allPosts, final Map<String, List<Comment>> comments) {
+        posts.synchronous().put(ALL_POSTS_KEY, allPosts);
+        final Map<String, AuditionPost> byId = new LinkedHashMap<>();
+        for (final AuditionPost post : allPosts) {
+            byId.put(String.valueOf(post.getId()), post);
+        }
+        postsById.synchronous().putAll(byId);
+        commentsByPostId.synchronous().putAll(comments);
+    }
+
+    /**
+     * Applies upstream post changes found by a sync: {@code allPosts} replaces the {@code /posts} list, changed posts
+     * replace their by-id entries and removed ones are dropped.
+     */
+    public void applyPostChanges(final List<AuditionPost> allPosts, final Collection<AuditionPost> changed,
+        final Collection<Integer> removedIds) {
+        posts.synchronous().put(ALL_POSTS_KEY, allPosts);
+        for (final AuditionPost post : changed) {
+            postsById.synchronous().put(String.valueOf(post.getId()), post);
+        }
+        for (final Integer postId : removedIds) {
+            postsById.synchronous().invalidate(String.valueOf(postId));
+        }
+    }
+
+    /**
+     * Replaces the cached comment lists of the given posts, e.g. with lists a sync found to have changed.
+     */
+    public void applyCommentChanges(final Map<String, List<Comment>> changed) {
+        commentsByPostId.synchronous().putAll(changed);
+    }
+
+    /**
+     * Reloads the {@code /posts} list on the load executor while the current one keeps being served.
+     */
+    public void refreshPosts() {
+        posts.synchronous().refresh(ALL_POSTS_KEY);
+    }
+
+    /**
+     * Waits for the entry, rethrowing a loader failure (typically a {@code SystemException}) as-is.
+     */
+    private static <V> V join(final AsyncLoadingCache<String, V> cache, final String key) {
+        return unwrap(() -> cache.get(key).join());
+    }
+
+    private static <V> Map<String, V> joinAll(final AsyncLoadingCache<String, V> cache,
+        final Collection<String> keys) {
+        return unwrap(() -> cache.getAll(keys).join());
+    }
+
+    private static <T> T unwrap(final Supplier<T> join) {
+        try {
+            return join.get();
+        } catch (final RejectedExecutionException e) {
+            throw new SystemException("Too many cache loads in progress", SERVICE_UNAVAILABLE, e);
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public Map<String, CacheStats> stats() {
+        final Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put(POSTS, posts.synchronous().stats());
+        stats.put(POST, postsById.synchronous().stats());
+        stats.put(COMMENTS, commentsByPostId.synchronous().stats());
+        return stats;
+    }
+
+    public Map<String, Long> sizes() {
+        final Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put(POSTS, posts.synchronous().estimatedSize());
+        sizes.put(POST, postsById.synchronous().estimatedSize());
+        sizes.put(COMMENTS, commentsByPostId.synchronous().estimatedSize());
+        return sizes;
+    }
+
+    public void invalidateAll() {
+        posts.synchronous().invalidateAll();
+        postsById.synchronous().invalidateAll();
+        commentsByPostId.synchronous().invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (loadExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
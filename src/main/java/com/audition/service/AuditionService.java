@@ -2,7 +2,12 @@ package com.audition.service;
 
 import com.audition.integration.AuditionIntegrationClient;
 import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BulkItem;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import com.audition.model.Comment;
@@ -14,14 +19,87 @@ public class AuditionService {
     private static final Logger log = LoggerFactory.getLogger(AuditionService.class);
     @Autowired
     private AuditionIntegrationClient auditionIntegrationClient;
+    @Autowired
+    private AuditionCache auditionCache;
+    @Autowired
+    private PostIndexService postIndexService;
+    @Autowired
+    private PostAggregator postAggregator;
+    @Autowired
+    private BulkLookupService bulkLookupService;
+    @Autowired
+    private ContentVersions contentVersions;
+    @Autowired(required = false)
+    private MirrorService mirrorService;
 
 
     public List<AuditionPost> getPosts() {
-        return auditionIntegrationClient.getPosts();
+        return auditionCache.getPosts();
+    }
+
+    public List<AuditionPost> getPostsByUserId(final int userId) {
+        if (isMirrorReady()) {
+            return mirrorService.findPostsByUserId(userId);
+        }
+        return postIndexService.index().findByUserId(userId);
+    }
+
+    public List<AuditionPost> getPostsByTitle(final String titleFragment) {
+        if (isMirrorReady()) {
+            return mirrorService.findPostsByTitle(titleFragment);
+        }
+        return postIndexService.index().findByTitleContaining(titleFragment);
+    }
+
+    /**
+     * Up to {@code limit} posts with an id greater than {@code afterId}, ordered by id.
+     */
+    public List<AuditionPost> getPostsAfter(final int afterId, final int limit) {
+        return postIndexService.index().findAfter(afterId, limit);
+    }
+
+    /**
+     * Version of the snapshot the post lists are read from: the generation of the mirror when it answers the
+     * {@code filtered} lookups, otherwise the content version of the cached {@code /posts} list, which the post index
+     * is built from and which is replaced whenever a post changes. Read it before the list it versions, so a list is
+     * never tagged with a snapshot older than its content.
+     */
+    public long postsVersion(final boolean filtered) {
+        if (filtered && isMirrorReady()) {
+            return mirrorService.generation();
+        }
+        return contentVersions.versionOf(auditionCache.getPosts());
+    }
+
+    /**
+     * As {@link #postsVersion}, for the comments of {@code postId}: the generation of the mirror, or the content
+     * version of the cached comment list.
+     */
+    public long commentsVersion(final String postId) {
+        if (isMirrorReady()) {
+            return mirrorService.generation();
+        }
+        return contentVersions.versionOf(auditionCache.getComments(postId));
     }
 
     public AuditionPost getPostById(final String postId) {
-        return auditionIntegrationClient.getPostById(postId);
+        return auditionCache.getPostById(postId);
+    }
+
+    public AuditionPostWithComments getPostWithComments(final String postId) {
+        return postAggregator.getPostWithComments(postId);
+    }
+
+    public List<AuditionPostWithComments> getPostsWithComments(final List<String> postIds) {
+        return postAggregator.getPostsWithComments(postIds);
+    }
+
+    public List<BulkItem<AuditionPost>> getPostsByIds(final List<String> postIds) {
+        return bulkLookupService.getPosts(postIds);
+    }
+
+    public List<BulkItem<List<Comment>>> getCommentsForPosts(final List<String> postIds) {
+        return bulkLookupService.getComments(postIds);
     }
 
     public List<Comment> getPostComments(String postId) {
@@ -32,7 +110,68 @@ public class AuditionService {
     	if (log.isInfoEnabled()) {
             log.info("service call getCommentsForPostByQueryParam postId={}", postId);
         }
-    	return auditionIntegrationClient.getCommentsForPostByQueryParam(postId);
+    	if (isMirrorReady()) {
+            final Integer mirroredPostId = asPostId(postId);
+            return mirroredPostId == null ? List.of() : mirrorService.findComments(mirroredPostId);
+        }
+    	return auditionCache.getComments(postId);
+    }
+
+    /**
+     * {@code postId} as a mirror key, or {@code null} when it is out of the int range: no post has such an id, so,
+     * as upstream, it has no comments.
+     */
+    private static Integer asPostId(final String postId) {
+        try {
+            return Integer.valueOf(postId);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Comments on every post of {@code userId}, ordered by post id. Without the mirror, the user's posts come from the
+     * post index and their comments from the cache, with one grouped upstream call for the misses.
+     */
+    public List<Comment> getCommentsByUserId(final int userId) {
+        if (isMirrorReady()) {
+            return mirrorService.findCommentsByUserId(userId);
+        }
+        final List<AuditionPost> posts = postIndexService.index().findByUserId(userId);
+        final List<String> postIds = new ArrayList<>(posts.size());
+        for (final AuditionPost post : posts) {
+            postIds.add(String.valueOf(post.getId()));
+        }
+        final Map<String, List<Comment>> commentsByPostId = auditionCache.getComments(postIds);
+        final List<Comment> comments = new ArrayList<>();
+        for (final String postId : postIds) {
+            comments.addAll(commentsByPostId.getOrDefault(postId, List.of()));
+        }
+        return comments;
+    }
+
+    /**
+     * Hands every post to {@code consumer}, one at a time: from the cached {@code /posts} list when there is one,
+     * otherwise as each post is parsed off the upstream response, so no list is built for the export.
+     */
+    public void exportPosts(final Consumer<? super AuditionPost> consumer) {
+        final List<AuditionPost> cached = auditionCache.getCachedPosts();
+        if (cached != null) {
+            cached.forEach(consumer);
+        } else {
+            auditionIntegrationClient.streamPosts(consumer);
+        }
+    }
+
+    /**
+     * Hands every comment of every post to {@code consumer} as it is parsed off the upstream response.
+     */
+    public void exportComments(final Consumer<? super Comment> consumer) {
+        auditionIntegrationClient.streamComments(consumer);
+    }
+
+    private boolean isMirrorReady() {
+        return mirrorService != null && mirrorService.isReady();
     }
 
 
@@ -0,0 +1,94 @@
+package com.audition.service;
+
+import com.audition.common.exception.ExpectedException;
+import com.audition.common.exception.SystemException;
+import com.audition.common.validation.PostIds;
+import com.audition.configuration.FanOutProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.BulkItem;
+import com.audition.model.Comment;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk lookups by id. Cached entries are served in one pass and all misses are fetched from the upstream with a single
+ * grouped call. Results follow request order, with a per-id status: 400 for a malformed id, 404 for an unknown post,
+ * or the status of the grouped call when it fails (ids already cached are still returned).
+ */
+@Component
+public class BulkLookupService {
+
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+
+    @Autowired
+    private AuditionCache auditionCache;
+    @Autowired
+    private FanOutProperties fanOutProperties;
+
+    public List<BulkItem<AuditionPost>> getPosts(final List<String> postIds) {
+        return lookup(postIds, auditionCache::getPostsById, auditionCache::getCachedPostsById,
+            "Cannot find a Post with id ");
+    }
+
+    public List<BulkItem<List<Comment>>> getComments(final List<String> postIds) {
+        return lookup(postIds, auditionCache::getComments, auditionCache::getCachedComments,
+            "No comments found for post id ");
+    }
+
+    private <T> List<BulkItem<T>> lookup(final List<String> ids,
+        final Function<Collection<String>, Map<String, T>> load,
+        final Function<Collection<String>, Map<String, T>> cached, final String notFoundMessage) {
+        final Set<String> validIds = new LinkedHashSet<>();
+        for (final String id : ids) {
+            if (PostIds.isValid(id)) {
+                validIds.add(id);
+            }
+        }
+        if (validIds.size() > fanOutProperties.getMaxIds()) {
+            throw ExpectedException.badRequest(
+                "At most " + fanOutProperties.getMaxIds() + " ids can be requested at once");
+        }
+
+        Map<String, T> found = Map.of();
+        RuntimeException failure = null;
+        if (!validIds.isEmpty()) {
+            try {
+                found = load.apply(validIds);
+            } catch (final RuntimeException e) {
+                failure = e;
+                found = cached.apply(validIds);
+            }
+        }
+
+        final List<BulkItem<T>> items = new ArrayList<>(ids.size());
+        for (final String id : ids) {
+            final T value = found.get(id);
+            if (!PostIds.isValid(id)) {
+                items.add(BulkItem.failed(id, BAD_REQUEST, "Invalid post ID : " + id));
+            } else if (value != null) {
+                items.add(BulkItem.ok(id, value));
+            } else if (failure != null) {
+                items.add(BulkItem.failed(id, statusOf(failure), failure.getMessage()));
+            } else {
+                items.add(BulkItem.failed(id, NOT_FOUND, notFoundMessage + id));
+            }
+        }
+        return items;
+    }
+
+    private static int statusOf(final RuntimeException e) {
+        if (e instanceof SystemException systemException && systemException.getStatusCode() != null) {
+            return systemException.getStatusCode();
+        }
+        return INTERNAL_SERVER_ERROR;
+    }
+}
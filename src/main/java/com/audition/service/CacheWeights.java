@@ -0,0 +1,53 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.util.List;
+
+/**
+ * Rough heap-size estimates used to bound the caches by bytes rather than entry count.
+ */
+final class CacheWeights {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int REFERENCE = 8;
+    private static final int BOXED_INTEGER = 16;
+
+    private CacheWeights() {
+    }
+
+    static int ofPosts(final List<AuditionPost> posts) {
+        if (posts == null) {
+            return 0;
+        }
+        long weight = OBJECT_OVERHEAD + (long) posts.size() * REFERENCE;
+        for (final AuditionPost post : posts) {
+            weight += ofPost(post);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    static int ofPost(final AuditionPost post) {
+        if (post == null) {
+            return 0;
+        }
+        return OBJECT_OVERHEAD + 2 * Integer.BYTES + ofString(post.getTitle()) + ofString(post.getBody());
+    }
+
+    static int ofComments(final List<Comment> comments) {
+        if (comments == null) {
+            return 0;
+        }
+        long weight = OBJECT_OVERHEAD + (long) comments.size() * REFERENCE;
+        for (final Comment comment : comments) {
+            weight += OBJECT_OVERHEAD + 2 * BOXED_INTEGER
+                + ofString(comment.getName()) + ofString(comment.getEmail()) + ofString(comment.getBody());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static int ofString(final String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+}
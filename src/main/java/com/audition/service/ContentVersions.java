@@ -0,0 +1,96 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content versions of posts, comments and lists of them, used as strong ETags. A version is a 64-bit FNV-1a hash of
+ * the record fields, so equal content gets the same version on every instance and across restarts.
+ *
+ * <p>Versions are memoized per value instance (weak, identity-keyed), so a list handed out by {@link AuditionCache}
+ * is hashed once per load rather than once per request. This relies on cached values not being mutated.
+ *
+ * <p>Filtered, paged and mirrored results are new lists on every request, so their version is not hashed from their
+ * content but {@link #versionOf(long, String) derived} from the version of the snapshot they were read from (see
+ * {@link AuditionService#postsVersion}) and the key that selected them.
+ */
+@Component
+public class ContentVersions {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Cache<Object, Long> versions = Caffeine.newBuilder().weakKeys().build();
+
+    /**
+     * Quoted strong ETag for a post, a comment or a list of either.
+     */
+    public String etag(final Object value) {
+        return "\"" + Long.toHexString(versionOf(value)) + "\"";
+    }
+
+    public long versionOf(final Object value) {
+        return versions.get(value, ContentVersions::compute);
+    }
+
+    /**
+     * Version of the part of a snapshot that {@code key} selects, e.g. the filter and page of a list response; no
+     * content is hashed.
+     *
+     * @param snapshot version of the snapshot the part is read from, read before reading the part
+     */
+    public long versionOf(final long snapshot, final String key) {
+        return mix(mix(FNV_OFFSET, snapshot), key);
+    }
+
+    private static long compute(final Object value) {
+        if (value instanceof AuditionPost post) {
+            return hash(post);
+        }
+        if (value instanceof Comment comment) {
+            return hash(comment);
+        }
+        if (value instanceof List<?> list) {
+            long hash = FNV_OFFSET;
+            for (final Object element : list) {
+                hash = mix(hash, compute(element));
+            }
+            return hash;
+        }
+        throw new IllegalArgumentException("No content version for " + value.getClass().getName());
+    }
+
+    public static long hash(final AuditionPost post) {
+        long hash = mix(FNV_OFFSET, post.getUserId());
+        hash = mix(hash, post.getId());
+        hash = mix(hash, post.getTitle());
+        return mix(hash, post.getBody());
+    }
+
+    public static long hash(final Comment comment) {
+        long hash = mix(FNV_OFFSET, comment.getId());
+        hash = mix(hash, comment.getPostId());
+        hash = mix(hash, comment.getName());
+        hash = mix(hash, comment.getEmail());
+        return mix(hash, comment.getBody());
+    }
+
+    /**
+     * FNV-1a over the value's chars, or over a marker for {@code null} so that null and empty differ.
+     */
+    private static long mix(long hash, final Object value) {
+        if (value == null) {
+            return (hash ^ 0xff) * FNV_PRIME;
+        }
+        final String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        // field separator, so that ("ab", "c") and ("a", "bc") differ
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+}
@@ -0,0 +1,240 @@
+package com.audition.service;
+
+import com.audition.configuration.DeltaSyncProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ConditionalFetch;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.index.PostIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Incremental refresh of the in-memory data. Each run requests {@code /posts} and {@code /comments} with the
+ * {@code ETag}/{@code Last-Modified} validators of the previous run; a {@code 304} costs no body at all. When the
+ * upstream sends the full set anyway, every record is fingerprinted with its {@link ContentVersions} hash and only
+ * records whose hash changed, appeared or disappeared are applied: posts to a {@link PostIndex} that
+ * {@link PostIndexService} serves instead of rebuilding, and to the post cache; comments to the cached lists of the
+ * affected posts only.
+ *
+ * <p>Per resource ({@code posts}, {@code comments}) every run publishes {@code audition.sync.records.changed}
+ * ({@code change=upserted|removed}), {@code audition.sync.bytes}, {@code audition.sync.not.modified} and
+ * {@code audition.sync.apply}.
+ */
+@Component
+@EnableConfigurationProperties(DeltaSyncProperties.class)
+@ConditionalOnProperty(prefix = "application.delta-sync", name = "enabled", havingValue = "true")
+public class DeltaSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeltaSyncService.class);
+
+    private static final String POSTS = "posts";
+    private static final String COMMENTS = "comments";
+
+    private final AuditionIntegrationClient client;
+    private final AuditionCache auditionCache;
+    private final DeltaSyncProperties properties;
+    private final Metrics postMetrics;
+    private final Metrics commentMetrics;
+    private final Lock syncLock = new ReentrantLock();
+
+    private ConditionalFetch postsValidators = ConditionalFetch.NONE;
+    private ConditionalFetch commentsValidators = ConditionalFetch.NONE;
+    private Map<Integer, Long> postHashes = new HashMap<>();
+    private Map<Integer, CommentFingerprint> commentFingerprints = new HashMap<>();
+    private volatile PostIndex index;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public DeltaSyncService(final AuditionIntegrationClient client, final AuditionCache auditionCache,
+        final DeltaSyncProperties properties, final MeterRegistry meterRegistry) {
+        this.client = client;
+        this.auditionCache = auditionCache;
+        this.properties = properties;
+        this.postMetrics = new Metrics(POSTS, meterRegistry);
+        this.commentMetrics = new Metrics(COMMENTS, meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        final long interval = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("delta-sync-"));
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The incrementally maintained post index, or {@code null} before the first sync of the posts has completed.
+     */
+    public PostIndex index() {
+        return index;
+    }
+
+    public void sync() {
+        syncLock.lock();
+        try {
+            syncPosts();
+            syncComments();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (final RuntimeException e) {
+            log.warn("delta sync failed, keeping the previous data", e);
+        }
+    }
+
+    private void syncPosts() {
+        final List<AuditionPost> all = new ArrayList<>();
+        final Map<Integer, Long> hashes = new HashMap<>(Math.max(16, postHashes.size() * 2));
+        final List<AuditionPost> changed = new ArrayList<>();
+        final ConditionalFetch fetch = client.streamPostsIfChanged(postsValidators, post -> {
+            final long hash = ContentVersions.hash(post);
+            hashes.put(post.getId(), hash);
+            all.add(post);
+            final Long previous = postHashes.get(post.getId());
+            if (previous == null || previous != hash) {
+                changed.add(post);
+            }
+        });
+        if (!fetch.modified()) {
+            postsValidators = fetch;
+            postMetrics.notModified.increment();
+            return;
+        }
+        postMetrics.bytes.record(fetch.bodyBytes());
+        final List<Integer> removed = new ArrayList<>();
+        for (final Integer postId : postHashes.keySet()) {
+            if (!hashes.containsKey(postId)) {
+                removed.add(postId);
+            }
+        }
+        final long start = System.nanoTime();
+        final PostIndex target = index == null ? new PostIndex() : index;
+        for (final AuditionPost post : changed) {
+            target.upsert(post);
+        }
+        for (final Integer postId : removed) {
+            target.remove(postId);
+        }
+        if (!changed.isEmpty() || !removed.isEmpty()) {
+            auditionCache.applyPostChanges(List.copyOf(all), changed, removed);
+        }
+        index = target;
+        postHashes = hashes;
+        postsValidators = fetch;
+        postMetrics.record(changed.size(), removed.size(), System.nanoTime() - start);
+    }
+
+    private void syncComments() {
+        final Map<Integer, List<Comment>> byPostId = new HashMap<>();
+        final Map<Integer, CommentFingerprint> fingerprints = new HashMap<>(
+            Math.max(16, commentFingerprints.size() * 2));
+        final Set<Integer> changedPostIds = new HashSet<>();
+        final int[] upserted = new int[1];
+        final ConditionalFetch fetch = client.streamCommentsIfChanged(commentsValidators, comment -> {
+            if (comment.getId() == null || comment.getPostId() == null) {
+                return;
+            }
+            final CommentFingerprint fingerprint =
+                new CommentFingerprint(comment.getPostId(), ContentVersions.hash(comment));
+            fingerprints.put(comment.getId(), fingerprint);
+            byPostId.computeIfAbsent(comment.getPostId(), postId -> new ArrayList<>()).add(comment);
+            if (!fingerprint.equals(commentFingerprints.get(comment.getId()))) {
+                upserted[0]++;
+                changedPostIds.add(comment.getPostId());
+            }
+        });
+        if (!fetch.modified()) {
+            commentsValidators = fetch;
+            commentMetrics.notModified.increment();
+            return;
+        }
+        commentMetrics.bytes.record(fetch.bodyBytes());
+        int removed = 0;
+        for (final Map.Entry<Integer, CommentFingerprint> previous : commentFingerprints.entrySet()) {
+            if (!fingerprints.containsKey(previous.getKey())) {
+                removed++;
+                changedPostIds.add(previous.getValue().postId());
+            }
+        }
+        final long start = System.nanoTime();
+        if (!changedPostIds.isEmpty()) {
+            final Map<String, List<Comment>> changed = new HashMap<>();
+            for (final Integer postId : changedPostIds) {
+                changed.put(String.valueOf(postId), List.copyOf(byPostId.getOrDefault(postId, List.of())));
+            }
+            auditionCache.applyCommentChanges(changed);
+        }
+        commentFingerprints = fingerprints;
+        commentsValidators = fetch;
+        commentMetrics.record(upserted[0], removed, System.nanoTime() - start);
+    }
+
+    private record CommentFingerprint(int postId, long hash) {
+
+    }
+
+    private static final class Metrics {
+
+        private final String resource;
+        private final Counter upserted;
+        private final Counter removed;
+        private final Counter notModified;
+        private final DistributionSummary bytes;
+        private final Timer apply;
+
+        Metrics(final String resource, final MeterRegistry registry) {
+            this.resource = resource;
+            this.upserted = Counter.builder("audition.sync.records.changed")
+                .tag("resource", resource).tag("change", "upserted").register(registry);
+            this.removed = Counter.builder("audition.sync.records.changed")
+                .tag("resource", resource).tag("change", "removed").register(registry);
+            this.notModified = Counter.builder("audition.sync.not.modified").tag("resource", resource)
+                .register(registry);
+            this.bytes = DistributionSummary.builder("audition.sync.bytes").baseUnit("bytes")
+                .tag("resource", resource).register(registry);
+            this.apply = Timer.builder("audition.sync.apply").tag("resource", resource).register(registry);
+        }
+
+        void record(final int upsertedCount, final int removedCount, final long applyNanos) {
+            upserted.increment(upsertedCount);
+            removed.increment(removedCount);
+            apply.record(applyNanos, TimeUnit.NANOSECONDS);
+            if (log.isInfoEnabled()) {
+                log.info("synced {}: {} upserted, {} removed, applied in {} us", resource,
+                    upsertedCount, removedCount, TimeUnit.NANOSECONDS.toMicros(applyNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.audition.service;
+
+import com.audition.configuration.MirrorProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.mirror.MirroredComment;
+import com.audition.service.mirror.MirroredCommentRepository;
+import com.audition.service.mirror.MirroredPost;
+import com.audition.service.mirror.MirroredPostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the local H2 mirror in step with the upstream and answers filter and comment queries from it.
+ *
+ * <p>A sync streams all posts and all comments from the upstream and writes them with batched H2 {@code MERGE}
+ * statements, each row stamped with the sync's generation; rows of older generations are then deleted. The whole
+ * sync is one transaction, so readers see either the previous or the new dataset. Queries are answered only after the
+ * first sync has completed; until then {@link AuditionService} keeps using the caches.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.mirror", name = "enabled", havingValue = "true")
+public class MirrorService {
+
+    private static final Logger log = LoggerFactory.getLogger(MirrorService.class);
+
+    private static final String UPSERT_POST =
+        "MERGE INTO posts (id, user_id, title, body, synced_at) KEY (id) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPSERT_COMMENT =
+        "MERGE INTO comments (id, post_id, name, email, body, synced_at) KEY (id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_STALE_POSTS = "DELETE FROM posts WHERE synced_at <> ?";
+    private static final String DELETE_STALE_COMMENTS = "DELETE FROM comments WHERE synced_at <> ?";
+
+    private final AuditionIntegrationClient client;
+    private final MirroredPostRepository posts;
+    private final MirroredCommentRepository comments;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MirrorProperties properties;
+    private final Timer syncTimer;
+    private final Lock syncLock = new ReentrantLock();
+    private long generation;
+    private volatile long syncedGeneration;
+    private volatile boolean ready;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public MirrorService(final AuditionIntegrationClient client, final MirroredPostRepository posts,
+        final MirroredCommentRepository comments, final JdbcTemplate jdbcTemplate,
+        final PlatformTransactionManager transactionManager, final MirrorProperties properties,
+        final MeterRegistry meterRegistry) {
+        this.client = client;
+        this.posts = posts;
+        this.comments = comments;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.syncTimer = Timer.builder("audition.mirror.sync").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        final long interval = properties.getSyncInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mirror-sync-"));
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Whether a sync has completed, i.e. whether the mirror can answer queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Generation of the data queries are answered from, advanced by every completed sync. It starts from the wall clock,
+     * so it also changes across restarts.
+     */
+    public long generation() {
+        return syncedGeneration;
+    }
+
+    /**
+     * Replaces the mirror content with the current upstream posts and comments.
+     */
+    public void sync() {
+        syncLock.lock();
+        try {
+            final long start = System.nanoTime();
+            generation = Math.max(generation + 1, System.currentTimeMillis());
+            final long syncedAt = generation;
+            final Upserts postUpserts = new Upserts(UPSERT_POST);
+            final Upserts commentUpserts = new Upserts(UPSERT_COMMENT);
+            transactionTemplate.executeWithoutResult(status -> {
+                client.syncPosts(post -> postUpserts.add(
+                    post.getId(), post.getUserId(), post.getTitle(), post.getBody(), syncedAt));
+                postUpserts.flush();
+                client.syncComments(comment -> {
+                    if (comment.getId() != null) {
+                        commentUpserts.add(comment.getId(), comment.getPostId(), comment.getName(),
+                            comment.getEmail(), comment.getBody(), syncedAt);
+                    }
+                });
+                commentUpserts.flush();
+                jdbcTemplate.update(DELETE_STALE_COMMENTS, syncedAt);
+                jdbcTemplate.update(DELETE_STALE_POSTS, syncedAt);
+            });
+            syncedGeneration = syncedAt;
+            ready = true;
+            final long elapsed = System.nanoTime() - start;
+            syncTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (log.isInfoEnabled()) {
+                log.info("mirrored {} posts and {} comments in {} ms", postUpserts.count, commentUpserts.count,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (final RuntimeException e) {
+            log.warn("mirror sync failed, keeping the previous data", e);
+        }
+    }
+
+    public List<AuditionPost> findPostsByUserId(final int userId) {
+        return toPosts(posts.findByUserIdOrderById(userId));
+    }
+
+    public List<AuditionPost> findPostsByTitle(final String fragment) {
+        return toPosts(posts.findByTitleContainingOrderById(fragment));
+    }
+
+    public List<Comment> findComments(final int postId) {
+        return toComments(comments.findByPostIdOrderById(postId));
+    }
+
+    /**
+     * Comments on all posts of {@code userId}, ordered by post id then comment id.
+     */
+    public List<Comment> findCommentsByUserId(final int userId) {
+        return toComments(comments.findByPostUserId(userId));
+    }
+
+    private static List<AuditionPost> toPosts(final List<MirroredPost> rows) {
+        final List<AuditionPost> result = new ArrayList<>(rows.size());
+        for (final MirroredPost row : rows) {
+            result.add(row.toModel());
+        }
+        return result;
+    }
+
+    private static List<Comment> toComments(final List<MirroredComment> rows) {
+        final List<Comment> result = new ArrayList<>(rows.size());
+        for (final MirroredComment row : rows) {
+            result.add(row.toModel());
+        }
+        return result;
+    }
+
+    /**
+     * Rows buffered for one statement and sent with {@code batchUpdate} every {@code batch-size} rows.
+     */
+    private final class Upserts {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+        private int count;
+
+        Upserts(final String sql) {
+            this.sql = sql;
+        }
+
+        void add(final Object... row) {
+            rows.add(row);
+            if (rows.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                count += rows.size();
+                rows.clear();
+            }
+        }
+    }
+}
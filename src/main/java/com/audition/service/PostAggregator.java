@@ -0,0 +1,131 @@
+package com.audition.service;
+
+import com.audition.common.exception.ExpectedException;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.BoundedExecutors;
+import com.audition.configuration.FanOutProperties;
+import com.audition.configuration.VirtualThreadProperties;
+import com.audition.configuration.VirtualThreads;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.Comment;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds {@link AuditionPostWithComments} by fetching a post and its comments concurrently through
+ * {@link AuditionCache}, so a lookup takes about as long as the slower of the two calls. Batches fan out over at most
+ * {@code parallelism} posts at a time. All lookups share a pool of {@code threads} platform threads (or a virtual thread
+ * each when virtual threads are enabled); when every thread is busy, the requesting thread runs the lookup itself.
+ */
+@Component
+@EnableConfigurationProperties(FanOutProperties.class)
+public class PostAggregator {
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final AuditionCache auditionCache;
+    private final FanOutProperties properties;
+    private final Executor executor;
+
+    @Autowired
+    public PostAggregator(final AuditionCache auditionCache, final FanOutProperties properties,
+        final VirtualThreadProperties virtualThreads) {
+        this(auditionCache, properties, virtualThreads.isEnabled()
+            ? VirtualThreads.newThreadPerTaskExecutor("fan-out-")
+            : BoundedExecutors.newPool("fan-out-", properties.getThreads(), 0, new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    PostAggregator(final AuditionCache auditionCache, final FanOutProperties properties, final Executor executor) {
+        this.auditionCache = auditionCache;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    public AuditionPostWithComments getPostWithComments(final String postId) {
+        final CompletableFuture<List<Comment>> comments =
+            CompletableFuture.supplyAsync(() -> auditionCache.getComments(postId), executor);
+        final AuditionPost post;
+        try {
+            post = auditionCache.getPostById(postId);
+        } catch (final RuntimeException | Error e) {
+            // a comments lookup still waiting for a thread is skipped
+            comments.cancel(false);
+            throw e;
+        }
+        if (post == null) {
+            comments.cancel(false);
+            throw ExpectedException.POST_NOT_FOUND;
+        }
+        return new AuditionPostWithComments(post, join(comments));
+    }
+
+    /**
+     * Looks up each distinct id, in request order. The first failing id fails the whole batch.
+     */
+    public List<AuditionPostWithComments> getPostsWithComments(final Collection<String> postIds) {
+        final LinkedHashSet<String> distinctIds = new LinkedHashSet<>(postIds);
+        if (distinctIds.size() > properties.getMaxIds()) {
+            throw ExpectedException.badRequest("At most " + properties.getMaxIds() + " ids can be requested at once");
+        }
+        final Semaphore permits = new Semaphore(properties.getParallelism());
+        final List<CompletableFuture<AuditionPostWithComments>> lookups = new ArrayList<>(distinctIds.size());
+        for (final String postId : distinctIds) {
+            acquire(permits);
+            lookups.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return getPostWithComments(postId);
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+        final List<AuditionPostWithComments> posts = new ArrayList<>(lookups.size());
+        for (final CompletableFuture<AuditionPostWithComments> lookup : lookups) {
+            posts.add(join(lookup));
+        }
+        return posts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void acquire(final Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while fanning out post lookups", SERVICE_UNAVAILABLE, e);
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
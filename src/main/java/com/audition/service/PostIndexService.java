@@ -0,0 +1,68 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.index.PostIndex;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a {@link PostIndex} in step with the cached {@code /posts} snapshot. The index is rebuilt only when the cache
+ * hands out a different snapshot instance, i.e. after a reload. With delta sync enabled, the index that
+ * {@link DeltaSyncService} updates record by record is served instead once it exists.
+ */
+@Component
+public class PostIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostIndexService.class);
+
+    @Autowired
+    private AuditionCache auditionCache;
+    @Autowired(required = false)
+    private DeltaSyncService deltaSyncService;
+
+    private final Lock rebuildLock = new ReentrantLock();
+    private volatile IndexedSnapshot current;
+
+    public PostIndex index() {
+        if (deltaSyncService != null) {
+            final PostIndex synced = deltaSyncService.index();
+            if (synced != null) {
+                return synced;
+            }
+        }
+        final List<AuditionPost> posts = auditionCache.getPosts();
+        final IndexedSnapshot snapshot = current;
+        if (snapshot != null && snapshot.source() == posts) {
+            return snapshot.index();
+        }
+        return rebuild(posts);
+    }
+
+    private PostIndex rebuild(final List<AuditionPost> posts) {
+        rebuildLock.lock();
+        try {
+            final IndexedSnapshot snapshot = current;
+            if (snapshot != null && snapshot.source() == posts) {
+                return snapshot.index();
+            }
+            final long start = System.nanoTime();
+            final PostIndex index = PostIndex.of(posts);
+            current = new IndexedSnapshot(posts, index);
+            if (log.isInfoEnabled()) {
+                log.info("indexed {} posts in {} ms", posts.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+            return index;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private record IndexedSnapshot(List<AuditionPost> source, PostIndex index) {
+
+    }
+}
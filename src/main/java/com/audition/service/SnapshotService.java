@@ -0,0 +1,130 @@
+package com.audition.service;
+
+import com.audition.configuration.SnapshotProperties;
+import com.audition.model.AuditionPost;
+import com.audition.service.snapshot.Snapshot;
+import com.audition.service.snapshot.SnapshotFile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warm start for {@link AuditionCache}. While the context starts, before the web server accepts requests, the last
+ * snapshot is mapped and seeded into the caches and the {@code /posts} list is reloaded in the background; the other
+ * entries refresh as they age. The cached data is then written back every {@code interval} and on shutdown.
+ *
+ * <p>Restore and write durations are published as {@code audition.snapshot.restore} and
+ * {@code audition.snapshot.write}.
+ */
+@Component
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final AuditionCache auditionCache;
+    private final SnapshotProperties properties;
+    private final Timer restoreTimer;
+    private final Timer writeTimer;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public SnapshotService(final AuditionCache auditionCache, final SnapshotProperties properties,
+        final MeterRegistry meterRegistry) {
+        this.auditionCache = auditionCache;
+        this.properties = properties;
+        this.restoreTimer = Timer.builder("audition.snapshot.restore").register(meterRegistry);
+        this.writeTimer = Timer.builder("audition.snapshot.write").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        restore();
+        final long interval = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("snapshot-"));
+        scheduler.scheduleWithFixedDelay(this::writeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Seeds the caches from the snapshot file, unless it is missing, unreadable or older than {@code max-age}.
+     *
+     * @return whether the caches were seeded
+     */
+    public boolean restore() {
+        final Path path = properties.getPath();
+        if (!Files.isRegularFile(path)) {
+            log.info("no snapshot at {}, caches start cold", path);
+            return false;
+        }
+        final long start = System.nanoTime();
+        final Snapshot snapshot;
+        try {
+            snapshot = SnapshotFile.read(path);
+        } catch (final IOException e) {
+            log.warn("ignoring snapshot {}: {}", path, e.getMessage());
+            return false;
+        }
+        final long ageMillis = System.currentTimeMillis() - snapshot.createdAtMillis();
+        if (ageMillis > properties.getMaxAge().toMillis()) {
+            log.info("ignoring snapshot {} written {} s ago", path, ageMillis / 1000);
+            return false;
+        }
+        auditionCache.seed(snapshot.posts(), snapshot.comments());
+        final long elapsed = System.nanoTime() - start;
+        restoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("restored {} posts and {} comment lists from {} in {} ms", snapshot.posts().size(),
+            snapshot.comments().size(), path, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        auditionCache.refreshPosts();
+        return true;
+    }
+
+    /**
+     * Writes the cached data to the snapshot file. Nothing is written before the {@code /posts} list has been cached.
+     *
+     * @return whether a snapshot was written
+     */
+    public boolean write() throws IOException {
+        final List<AuditionPost> posts = auditionCache.getCachedPosts();
+        if (posts == null) {
+            return false;
+        }
+        final long start = System.nanoTime();
+        SnapshotFile.write(properties.getPath(),
+            new Snapshot(System.currentTimeMillis(), posts, auditionCache.getAllCachedComments()));
+        writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (final IOException | RuntimeException e) {
+            log.warn("could not write snapshot {}", properties.getPath(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            writeQuietly();
+        }
+    }
+}
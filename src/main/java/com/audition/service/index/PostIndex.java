@@ -0,0 +1,211 @@
+package com.audition.service.index;
+
+import com.audition.common.collection.IntSortedList;
+import com.audition.common.collection.LongObjectHashMap;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index over posts: id to post, userId to post ids, and a 2/3-gram inverted index over titles so that
+ * title substring queries only touch posts sharing the query's n-grams.
+ *
+ * <p>Reads run concurrently; {@link #upsert} and {@link #remove} take the write lock and touch only the postings of
+ * the affected post.
+ */
+public class PostIndex {
+
+    private static final int BIGRAM = 2;
+    private static final int TRIGRAM = 3;
+
+    private final LongObjectHashMap<AuditionPost> postsById;
+    private final LongObjectHashMap<IntSortedList> postIdsByUserId;
+    private final LongObjectHashMap<IntSortedList> postIdsByGram;
+    private final IntSortedList postIds = new IntSortedList();
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public PostIndex() {
+        this(16);
+    }
+
+    private PostIndex(final int expectedSize) {
+        this.postsById = new LongObjectHashMap<>(expectedSize);
+        this.postIdsByUserId = new LongObjectHashMap<>(Math.max(16, expectedSize / 10));
+        this.postIdsByGram = new LongObjectHashMap<>(Math.max(16, expectedSize * 4));
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    public static PostIndex of(final Collection<AuditionPost> posts) {
+        final PostIndex index = new PostIndex(posts.size());
+        for (final AuditionPost post : posts) {
+            index.add(post);
+        }
+        return index;
+    }
+
+    public void upsert(final AuditionPost post) {
+        writeLock.lock();
+        try {
+            unindex(post.getId());
+            add(post);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean remove(final int postId) {
+        writeLock.lock();
+        try {
+            return unindex(postId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public AuditionPost get(final int postId) {
+        readLock.lock();
+        try {
+            return postsById.get(postId);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} posts with an id greater than {@code afterId}, ordered by id: one keyset page, found by
+     * binary search in the sorted id list rather than by skipping over the preceding posts.
+     */
+    public List<AuditionPost> findAfter(final int afterId, final int limit) {
+        readLock.lock();
+        try {
+            final int from = postIds.indexAfter(afterId);
+            final int to = (int) Math.min(postIds.size(), (long) from + limit);
+            final List<AuditionPost> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(postsById.get(postIds.get(i)));
+            }
+            return page;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return postsById.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public List<AuditionPost> findByUserId(final int userId) {
+        readLock.lock();
+        try {
+            final IntSortedList ids = postIdsByUserId.get(userId);
+            return ids == null ? List.of() : resolve(ids.toArray(), null);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Posts whose title contains {@code fragment} (case-sensitive, like {@link String#contains}), ordered by id.
+     */
+    public List<AuditionPost> findByTitleContaining(final String fragment) {
+        if (fragment.length() < BIGRAM) {
+            throw new IllegalArgumentException("Title fragment must have at least " + BIGRAM + " characters");
+        }
+        readLock.lock();
+        try {
+            if (fragment.length() <= TRIGRAM) {
+                // The gram is the whole fragment, so its posting list is the exact answer.
+                final IntSortedList ids = postIdsByGram.get(gram(fragment, 0, fragment.length()));
+                return ids == null ? List.of() : resolve(ids.toArray(), null);
+            }
+            final int gramCount = fragment.length() - TRIGRAM + 1;
+            final IntSortedList[] postings = new IntSortedList[gramCount];
+            for (int i = 0; i < gramCount; i++) {
+                postings[i] = postIdsByGram.get(gram(fragment, i, TRIGRAM));
+                if (postings[i] == null) {
+                    return List.of();
+                }
+            }
+            // Sharing every trigram is necessary but not sufficient, so verify the candidates.
+            return resolve(IntSortedList.intersect(postings), fragment);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<AuditionPost> resolve(final int[] ids, final String titleFragment) {
+        final List<AuditionPost> posts = new ArrayList<>(ids.length);
+        for (final int id : ids) {
+            final AuditionPost post = postsById.get(id);
+            if (post != null && (titleFragment == null || post.getTitle().contains(titleFragment))) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
+    private void add(final AuditionPost post) {
+        final int id = post.getId();
+        postsById.put(id, post);
+        postIds.add(id);
+        postIdsByUserId.computeIfAbsent(post.getUserId(), IntSortedList::new).add(id);
+        forEachGram(post.getTitle(), gram -> postIdsByGram.computeIfAbsent(gram, IntSortedList::new).add(id));
+    }
+
+    private boolean unindex(final int postId) {
+        final AuditionPost previous = postsById.remove(postId);
+        if (previous == null) {
+            return false;
+        }
+        postIds.remove(postId);
+        removePosting(postIdsByUserId, previous.getUserId(), postId);
+        forEachGram(previous.getTitle(), gram -> removePosting(postIdsByGram, gram, postId));
+        return true;
+    }
+
+    private static void removePosting(final LongObjectHashMap<IntSortedList> postings, final long key, final int postId) {
+        final IntSortedList ids = postings.get(key);
+        if (ids != null && ids.remove(postId) && ids.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static void forEachGram(final String title, final GramConsumer consumer) {
+        if (title == null) {
+            return;
+        }
+        for (int length = BIGRAM; length <= TRIGRAM; length++) {
+            for (int i = 0; i + length <= title.length(); i++) {
+                consumer.accept(gram(title, i, length));
+            }
+        }
+    }
+
+    /**
+     * Packs up to three UTF-16 chars and the gram length into one long key.
+     */
+    private static long gram(final String text, final int offset, final int length) {
+        long key = length;
+        for (int i = 0; i < TRIGRAM; i++) {
+            key = (key << 16) | (i < length ? text.charAt(offset + i) : 0);
+        }
+        return key;
+    }
+
+    @FunctionalInterface
+    private interface GramConsumer {
+
+        void accept(long gram);
+    }
+}
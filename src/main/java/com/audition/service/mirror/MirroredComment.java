@@ -0,0 +1,44 @@
+package com.audition.service.mirror;
+
+import com.audition.model.Comment;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Row of the mirrored {@code comments} table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "comments", indexes = @Index(name = "idx_comments_post_id", columnList = "post_id"))
+public class MirroredComment {
+
+    @Id
+    private int id;
+
+    @Column(name = "post_id")
+    private Integer postId;
+
+    @Column(length = 2000)
+    private String name;
+
+    @Column(length = 2000)
+    private String email;
+
+    @Column(length = 20000)
+    private String body;
+
+    @Column(name = "synced_at", nullable = false)
+    private long syncedAt;
+
+    public Comment toModel() {
+        return new Comment(id, postId, name, email, body);
+    }
+}
@@ -0,0 +1,18 @@
+package com.audition.service.mirror;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MirroredCommentRepository extends JpaRepository<MirroredComment, Integer> {
+
+    List<MirroredComment> findByPostIdOrderById(int postId);
+
+    /**
+     * Comments on every post of {@code userId}: a join over the {@code user_id} and {@code post_id} indexes.
+     */
+    @Query("select c from MirroredComment c join MirroredPost p on p.id = c.postId"
+        + " where p.userId = :userId order by c.postId, c.id")
+    List<MirroredComment> findByPostUserId(@Param("userId") int userId);
+}
@@ -0,0 +1,44 @@
+package com.audition.service.mirror;
+
+import com.audition.model.AuditionPost;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Row of the mirrored {@code posts} table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "posts", indexes = @Index(name = "idx_posts_user_id", columnList = "user_id"))
+public class MirroredPost {
+
+    @Id
+    private int id;
+
+    @Column(name = "user_id", nullable = false)
+    private int userId;
+
+    @Column(length = 2000)
+    private String title;
+
+    @Column(length = 20000)
+    private String body;
+
+    /**
+     * Sync run that last wrote the row; rows of older runs are deleted when a sync completes.
+     */
+    @Column(name = "synced_at", nullable = false)
+    private long syncedAt;
+
+    public AuditionPost toModel() {
+        return new AuditionPost(userId, id, title, body);
+    }
+}
@@ -0,0 +1,14 @@
+package com.audition.service.mirror;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MirroredPostRepository extends JpaRepository<MirroredPost, Integer> {
+
+    List<MirroredPost> findByUserIdOrderById(int userId);
+
+    /**
+     * Case-sensitive, like {@code PostIndex#findByTitleContaining}.
+     */
+    List<MirroredPost> findByTitleContainingOrderById(String fragment);
+}
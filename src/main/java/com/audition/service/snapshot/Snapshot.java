@@ -0,0 +1,13 @@
+package com.audition.service.snapshot;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the cached upstream data: the {@code /posts} list and the comment lists keyed by post id.
+ */
+public record Snapshot(long createdAtMillis, List<AuditionPost> posts, Map<String, List<Comment>> comments) {
+
+}
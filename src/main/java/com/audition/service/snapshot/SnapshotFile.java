@@ -0,0 +1,206 @@
+package com.audition.service.snapshot;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot file. Layout, big-endian:
+ *
+ * <pre>
+ * header   magic "AUDS" (int), format version (int), created-at epoch millis (long),
+ *          payload length (int), CRC32C of the payload (int)
+ * payload  post count (int), per post: userId (int), id (int), title (str), body (str)
+ *          comment list count (int), per list: post id (str), comment count (int),
+ *          per comment: id (opt int), postId (opt int), name (str), email (str), body (str)
+ * </pre>
+ *
+ * <p>{@code str} is a UTF-8 byte length (int, -1 for null) followed by the bytes; {@code opt int} is a presence byte
+ * followed by the int when present. Reading maps the file instead of streaming it and rejects an unknown version, a
+ * truncated payload or a checksum mismatch before decoding anything.
+ */
+public final class SnapshotFile {
+
+    static final int MAGIC = 0x41554453;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    private static final int NULL_LENGTH = -1;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes {@code snapshot} to a sibling temporary file, forces it to disk and moves it over {@code path}, so a
+     * crash mid-write leaves the previous snapshot intact.
+     */
+    public static void write(final Path path, final Snapshot snapshot) throws IOException {
+        final byte[] payload = encode(snapshot);
+        final CRC32C crc = new CRC32C();
+        crc.update(payload);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(snapshot.createdAtMillis())
+            .putInt(payload.length)
+            .putInt((int) crc.getValue())
+            .flip();
+
+        final Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                final ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, body});
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static Snapshot read(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a snapshot file");
+            }
+            final int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + path);
+            }
+            final long createdAtMillis = buffer.getLong();
+            final int payloadLength = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (payloadLength < 0 || payloadLength != size - HEADER_BYTES) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            final CRC32C crc = new CRC32C();
+            crc.update(buffer.slice());
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Checksum mismatch in snapshot " + path);
+            }
+            try {
+                return decode(createdAtMillis, buffer);
+            } catch (final BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Malformed snapshot " + path, e);
+            }
+        }
+    }
+
+    private static byte[] encode(final Snapshot snapshot) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(snapshot.posts().size());
+        for (final AuditionPost post : snapshot.posts()) {
+            out.writeInt(post.getUserId());
+            out.writeInt(post.getId());
+            writeString(out, post.getTitle());
+            writeString(out, post.getBody());
+        }
+        out.writeInt(snapshot.comments().size());
+        for (final Map.Entry<String, List<Comment>> entry : snapshot.comments().entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (final Comment comment : entry.getValue()) {
+                writeInteger(out, comment.getId());
+                writeInteger(out, comment.getPostId());
+                writeString(out, comment.getName());
+                writeString(out, comment.getEmail());
+                writeString(out, comment.getBody());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Snapshot decode(final long createdAtMillis, final ByteBuffer in) {
+        final int postCount = count(in);
+        final List<AuditionPost> posts = new ArrayList<>(postCount);
+        for (int i = 0; i < postCount; i++) {
+            posts.add(new AuditionPost(in.getInt(), in.getInt(), readString(in), readString(in)));
+        }
+        final int listCount = count(in);
+        final Map<String, List<Comment>> comments = new HashMap<>((int) (listCount / 0.75f) + 1);
+        for (int i = 0; i < listCount; i++) {
+            final String postId = readString(in);
+            final int commentCount = count(in);
+            final List<Comment> list = new ArrayList<>(commentCount);
+            for (int j = 0; j < commentCount; j++) {
+                list.add(new Comment(readInteger(in), readInteger(in), readString(in), readString(in),
+                    readString(in)));
+            }
+            comments.put(postId, List.copyOf(list));
+        }
+        return new Snapshot(createdAtMillis, List.copyOf(posts), comments);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(final ByteBuffer in) {
+        final int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(final DataOutputStream out, final Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(final ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    /**
+     * Element count, checked against the bytes left so a corrupt count cannot trigger a huge allocation.
+     */
+    private static int count(final ByteBuffer in) {
+        final int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("Invalid element count " + count);
+        }
+        return count;
+    }
+}
@@ -1,95 +1,286 @@
 package com.audition.web;
 
-import com.audition.common.exception.SystemException;
+import com.audition.common.exception.ExpectedException;
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.common.validation.PostIds;
+import com.audition.configuration.HttpCacheProperties;
 import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BulkItem;
 import com.audition.model.Comment;
 import com.audition.service.AuditionService;
+import com.audition.service.ContentVersions;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @RestController
+@EnableConfigurationProperties(HttpCacheProperties.class)
 public class AuditionController {
 
     @Autowired
     AuditionService auditionService;
 
+    @Autowired
+    ContentVersions contentVersions;
+
+    @Autowired
+    HttpCacheProperties httpCacheProperties;
+
+    @Autowired
+    SerializedResponseCache serializedResponseCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PhaseTimers phaseTimers;
+
+    static final Set<String> POST_FIELDS = Set.of("userId", "id", "title", "body");
+    static final Set<String> COMMENT_FIELDS = Set.of("id", "postId", "name", "email", "body");
+
+    /**
+     * All posts, or those matching {@code filterParam}, ordered by id. With {@code limit} and/or {@code cursor} one
+     * keyset page is returned and a {@code Link} header with {@code rel="next"} points to the next one; {@code fields}
+     * restricts the properties written, e.g. {@code fields=id,title}.
+     */
     @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<AuditionPost> getPosts(@RequestParam(required = false) final String filterParam) {
-        List<AuditionPost> posts = auditionService.getPosts();
-        if (filterParam != null && !filterParam.isEmpty()) {
-            if (filterParam.matches(".*\\d.*")) {
-                posts = posts.stream()
-                             .filter(post -> post.getUserId() == Integer.parseInt(filterParam))
-                             .toList();
-            } else if (filterParam.length() >= 2) {
-                posts = posts.stream()
-                             .filter(post -> post.getTitle().contains(filterParam))
-                             .toList();
-            }
+    public ResponseEntity<byte[]> getPosts(@RequestParam(required = false) final String filterParam,
+        final ListOptions options,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        final Set<String> fields = options.projection(POST_FIELDS);
+        final boolean byUserId = PostIds.isValid(filterParam);
+        final boolean unfiltered = filterParam == null || !byUserId && filterParam.length() < 2;
+        final long start = System.nanoTime();
+        final long snapshot = auditionService.postsVersion(!unfiltered);
+        final List<AuditionPost> posts;
+        final String filter;
+        if (unfiltered) {
+            // one page plus one post tells whether there is a next page
+            posts = options.isPaged()
+                ? auditionService.getPostsAfter(options.afterId(), options.pageSize() + 1)
+                : auditionService.getPosts();
+            filter = "";
+        } else if (byUserId) {
+            final int userId = userIdOf(filterParam);
+            posts = auditionService.getPostsByUserId(userId);
+            filter = "userId=" + userId;
+        } else {
+            posts = auditionService.getPostsByTitle(filterParam);
+            filter = "title=" + filterParam;
+        }
+        phaseTimers.request(HttpCacheProperties.POSTS, PhaseTimers.FILTER, System.nanoTime() - start);
+        if ((posts == null || posts.isEmpty()) && options.cursor() == null) {
+              throw new ExpectedException("No matching posts found for the given filter param: " + filterParam, 200);
         }
-        if (posts == null || posts.isEmpty()) {
-              throw new SystemException("No matching posts found for the given filter param: " + filterParam, 200);
+        final KeysetPage<AuditionPost> page = KeysetPage.of(posts == null ? List.of() : posts, AuditionPost::getId, options);
+        return serialized(HttpCacheProperties.POSTS, filter + options.key(), snapshot, page, fields, acceptEncoding);
+    }
+
+    @RequestMapping(value = "/posts", params = "ids", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkItem<AuditionPost>> getPostsByIds(@RequestParam("ids") final List<String> postIds) {
+        return auditionService.getPostsByIds(postIds);
+    }
+
+    @RequestMapping(value = "/comments", params = "postIds", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkItem<List<Comment>>> getCommentsForPosts(@RequestParam("postIds") final List<String> postIds) {
+        return auditionService.getCommentsForPosts(postIds);
+    }
+
+    @RequestMapping(value = "/comments", params = "userId", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<Comment> getCommentsByUserId(@RequestParam("userId") final int userId) {
+        return auditionService.getCommentsByUserId(userId);
+    }
+
+    /**
+     * The user id selected by an all-digit {@code filterParam}; one beyond the {@code int} range matches no user and is
+     * rejected rather than failing the request with a 500.
+     */
+    static int userIdOf(final String filterParam) {
+        try {
+            return Integer.parseInt(filterParam);
+        } catch (final NumberFormatException e) {
+            throw ExpectedException.badRequest("Invalid filter param : " + filterParam);
         }
-        return posts;
     }
 
     @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody AuditionPost getPostsById(@PathVariable("id") final String postId) {
+    public ResponseEntity<AuditionPost> getPostsById(@PathVariable("id") final String postId) {
+        if (!PostIds.isValid(postId)) {
+            throw ExpectedException.INVALID_POST_ID;
+        }
         final AuditionPost auditionPosts = auditionService.getPostById(postId);
 
-        if (postId == null || !postId.matches("\\d+")) {
-            throw new SystemException("Invalid post ID");
+        if (auditionPosts == null) {
+            throw ExpectedException.POST_NOT_FOUND;
         }
+        return cacheable(HttpCacheProperties.POST, auditionPosts);
+    }
 
-        if (auditionPosts == null) {
-            throw new SystemException("Post not found");
+    @RequestMapping(value = "/posts/{id}/with-comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public @ResponseBody AuditionPostWithComments getPostWithComments(@PathVariable("id") final String postId) {
+        if (!PostIds.isValid(postId)) {
+            throw ExpectedException.badRequest("Invalid post ID : " + postId);
         }
-        return auditionPosts;
+        return auditionService.getPostWithComments(postId);
     }
 
-    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<Comment> getComments(@PathVariable("id") final String postId) {
-        if (postId == null || !postId.matches("\\d+")) {
-            throw new SystemException("Invalid post ID : " + postId, 400);
+    @RequestMapping(value = "/posts/with-comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public @ResponseBody List<AuditionPostWithComments> getPostsWithComments(@RequestParam("ids") final List<String> postIds) {
+        for (final String postId : postIds) {
+            if (!PostIds.isValid(postId)) {
+                throw ExpectedException.badRequest("Invalid post ID : " + postId);
+            }
         }
-        return auditionService.getCommentsForPostByQueryParam(postId);
+        return auditionService.getPostsWithComments(postIds);
     }
 
-    @ExceptionHandler(SystemException.class)
-public ResponseEntity<ErrorResponse> handleSystemException(SystemException ex) {
-    ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), ex.getStatusCode());
-    return new ResponseEntity<>(errorResponse, HttpStatus.valueOf(ex.getStatusCode()));
-}
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getComments(@PathVariable("id") final String postId, final ListOptions options,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        if (!PostIds.isValid(postId)) {
+            throw ExpectedException.badRequest("Invalid post ID : " + postId);
+        }
+        final Set<String> fields = options.projection(COMMENT_FIELDS);
+        final long start = System.nanoTime();
+        final long snapshot = auditionService.commentsVersion(postId);
+        final List<Comment> comments = auditionService.getCommentsForPostByQueryParam(postId);
+        phaseTimers.request(HttpCacheProperties.COMMENTS, PhaseTimers.FILTER, System.nanoTime() - start);
+        final List<Comment> all = comments == null ? List.of() : comments;
+        final KeysetPage<Comment> page = KeysetPage.of(options.isPaged() ? sortedById(all) : all, Comment::getId,
+            options);
+        return serialized(HttpCacheProperties.COMMENTS, postId + options.key(), snapshot, page, fields, acceptEncoding);
+    }
 
-static class ErrorResponse {
-    private String message;
-    private int statusCode;
+    /**
+     * The comments that have an id, ordered by id, as keyset paging needs; the upstream does not guarantee the order.
+     * The list itself is returned when it already is, which is the usual case.
+     */
+    static List<Comment> sortedById(final List<Comment> comments) {
+        Integer previous = null;
+        for (final Comment comment : comments) {
+            final Integer id = comment.getId();
+            if (id == null || previous != null && id <= previous) {
+                final List<Comment> sorted = new ArrayList<>(comments.size());
+                for (final Comment candidate : comments) {
+                    if (candidate.getId() != null) {
+                        sorted.add(candidate);
+                    }
+                }
+                sorted.sort(Comparator.comparing(Comment::getId));
+                return sorted;
+            }
+            previous = id;
+        }
+        return comments;
+    }
 
-    public ErrorResponse(String message, int statusCode) {
-        this.message = message;
-        this.statusCode = statusCode;
+    /**
+     * Writes the pre-serialized (and possibly gzipped) JSON of the page from {@link SerializedResponseCache}, with the
+     * same ETag and {@code Cache-Control} handling as {@link #cacheable}, and links the next page if there is one. The
+     * version is derived from the {@code snapshot} the page was read from and its {@code key}, not from its content.
+     */
+    private ResponseEntity<byte[]> serialized(final String endpoint, final String key, final long snapshot,
+        final KeysetPage<?> page, final Set<String> fields, final String acceptEncoding) {
+        final SerializedResponseCache.Representation representation = serializedResponseCache.get(endpoint, key,
+            contentVersions.versionOf(snapshot, key), page.items(), fields, acceptEncoding);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (page.nextCursor() != null) {
+            response.header(HttpHeaders.LINK, "<" + ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.nextCursor()).toUriString() + ">; rel=\"next\"");
+        }
+        if (representation.contentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, representation.contentEncoding());
+        }
+        if (httpCacheProperties.isEnabled()) {
+            response.eTag(representation.etag()).cacheControl(cacheControl(endpoint));
+        }
+        return response.body(representation.bytes());
     }
 
-    public String getMessage() {
-        return message;
+    /**
+     * Every post as newline-delimited JSON, written with chunked transfer while the posts are produced.
+     */
+    @RequestMapping(value = "/export/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return ndjson(AuditionPost.class, auditionService::exportPosts);
     }
 
-    public void setMessage(String message) {
-        this.message = message;
+    /**
+     * Every comment as newline-delimited JSON, written with chunked transfer while the upstream response is parsed.
+     */
+    @RequestMapping(value = "/export/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportComments() {
+        return ndjson(Comment.class, auditionService::exportComments);
     }
 
-    public int getStatusCode() {
-        return statusCode;
+    /**
+     * Streams the records {@code export} produces, one JSON line each, through a single generator whose buffer is the
+     * only per-response state. Each record is written before the next is read, so a slow client blocks the write and,
+     * through it, the read from the upstream connection: memory stays constant however many records there are. The
+     * status and headers are sent with the first chunk, so a failure part-way through ends the response early rather
+     * than turning it into an error.
+     */
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(final Class<T> type,
+        final Consumer<Consumer<? super T>> export) {
+        final ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                export.accept(record -> {
+                    try {
+                        writer.writeValue(generator, record);
+                        generator.writeRaw('\n');
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .cacheControl(CacheControl.noStore())
+            .body(body);
     }
 
-    public void setStatusCode(int statusCode) {
-        this.statusCode = statusCode;
+    /**
+     * Adds the content version of {@code body} as a strong ETag and the endpoint's {@code Cache-Control}. When a GET
+     * carries a matching {@code If-None-Match}, Spring MVC answers 304 from these headers without serializing the body.
+     */
+    private <T> ResponseEntity<T> cacheable(final String endpoint, final T body) {
+        if (body == null || !httpCacheProperties.isEnabled()) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+            .eTag(contentVersions.etag(body))
+            .cacheControl(cacheControl(endpoint))
+            .body(body);
     }
-}
 
+    private CacheControl cacheControl(final String endpoint) {
+        final Duration maxAge = httpCacheProperties.getMaxAge().get(endpoint);
+        return maxAge == null ? CacheControl.noCache() : CacheControl.maxAge(maxAge).cachePublic();
+    }
 }
@@ -0,0 +1,37 @@
+package com.audition.web;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of an id-ordered list and the cursor of the next page, {@code null} on the last page.
+ */
+record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * The page of {@code sortedById} that {@code options} asks for; the start is found by binary search on the id.
+     * The list may already start after the cursor, as when it comes from an index lookup of one page plus one post.
+     */
+    static <T> KeysetPage<T> of(final List<T> sortedById, final ToIntFunction<T> id, final ListOptions options) {
+        if (!options.isPaged()) {
+            return new KeysetPage<>(sortedById, null);
+        }
+        final int afterId = options.afterId();
+        int low = 0;
+        int high = sortedById.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (id.applyAsInt(sortedById.get(mid)) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        final int to = (int) Math.min(sortedById.size(), (long) low + options.pageSize());
+        final List<T> items = sortedById.subList(low, to);
+        final String nextCursor = to < sortedById.size() && !items.isEmpty()
+            ? ListOptions.cursorAfter(id.applyAsInt(items.get(items.size() - 1)))
+            : null;
+        return new KeysetPage<>(items, nextCursor);
+    }
+}
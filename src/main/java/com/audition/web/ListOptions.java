@@ -0,0 +1,83 @@
+package com.audition.web;
+
+import com.audition.common.exception.ExpectedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keyset pagination and field projection of the list endpoints, bound from the {@code limit}, {@code cursor} and
+ * {@code fields} query parameters. A cursor is the opaque, URL-safe encoding of the last id of the previous page.
+ */
+public record ListOptions(Integer limit, String cursor, String fields) {
+
+    static final ListOptions NONE = new ListOptions(null, null, null);
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private static final String CURSOR_PREFIX = "after:";
+
+    boolean isPaged() {
+        return limit != null || cursor != null;
+    }
+
+    int pageSize() {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw ExpectedException.badRequest("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Id after which the page starts; every id is after {@link Integer#MIN_VALUE}.
+     */
+    int afterId() {
+        if (cursor == null || cursor.isEmpty()) {
+            return Integer.MIN_VALUE;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (final IllegalArgumentException e) {
+            // NumberFormatException included; reported below
+        }
+        throw ExpectedException.badRequest("Invalid cursor : " + cursor);
+    }
+
+    static String cursorAfter(final int id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The requested fields in a canonical (sorted) order, or {@code null} for all of them.
+     */
+    Set<String> projection(final Set<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        final Set<String> projection = new TreeSet<>();
+        for (final String field : fields.split(",")) {
+            final String name = field.trim();
+            if (!available.contains(name)) {
+                throw ExpectedException.badRequest("Unknown field : " + name + ", expected any of " + available);
+            }
+            projection.add(name);
+        }
+        return projection;
+    }
+
+    /**
+     * Response cache key part for these options, in canonical form.
+     */
+    String key() {
+        return isPaged() ? "after=" + afterId() + "&limit=" + pageSize() : "";
+    }
+}
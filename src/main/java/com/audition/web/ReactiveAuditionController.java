@@ -0,0 +1,67 @@
+package com.audition.web;
+
+import com.audition.common.exception.ExpectedException;
+import com.audition.common.exception.SystemException;
+import com.audition.common.validation.PostIds;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variants of the {@link AuditionController} endpoints under {@code /reactive}. The request thread is
+ * released while the upstream call is in flight; errors surface as {@link SystemException}s and are rendered by
+ * {@code ExceptionControllerAdvice}.
+ */
+@RestController
+@RequestMapping("/reactive")
+@ConditionalOnProperty(prefix = "application.reactive", name = "enabled", havingValue = "true")
+public class ReactiveAuditionController {
+
+    @Autowired
+    ReactiveAuditionIntegrationClient reactiveIntegrationClient;
+
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<AuditionPost>> getPosts(@RequestParam(required = false) final String filterParam) {
+        Flux<AuditionPost> posts = reactiveIntegrationClient.getPosts();
+        if (filterParam != null && !filterParam.isEmpty()) {
+            if (PostIds.isValid(filterParam)) {
+                final int userId = AuditionController.userIdOf(filterParam);
+                posts = posts.filter(post -> post.getUserId() == userId);
+            } else if (filterParam.length() >= 2) {
+                posts = posts.filter(post -> post.getTitle() != null && post.getTitle().contains(filterParam));
+            }
+        }
+        return posts.collectList()
+            .filter(matches -> !matches.isEmpty())
+            .switchIfEmpty(Mono.error(() -> new ExpectedException(
+                "No matching posts found for the given filter param: " + filterParam, 200)));
+    }
+
+    @GetMapping(value = "/posts/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuditionPost> getPostsById(@PathVariable("id") final String postId) {
+        if (!PostIds.isValid(postId)) {
+            return Mono.error(ExpectedException.INVALID_POST_ID);
+        }
+        return reactiveIntegrationClient.getPostById(postId)
+            .switchIfEmpty(Mono.error(ExpectedException.POST_NOT_FOUND));
+    }
+
+    @GetMapping(value = "/posts/{id}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<Comment> getComments(@PathVariable("id") final String postId) {
+        if (!PostIds.isValid(postId)) {
+            return Flux.error(ExpectedException.badRequest("Invalid post ID : " + postId));
+        }
+        return reactiveIntegrationClient.getCommentsForPostByQueryParam(postId);
+    }
+}
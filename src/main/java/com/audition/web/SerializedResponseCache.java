@@ -0,0 +1,192 @@
+package com.audition.web;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.jfr.JfrStatsCounter;
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.ResponseCacheProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.ContentVersions;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encoded JSON bodies of hot responses, keyed by endpoint, filter and content encoding, each tagged with the version it
+ * was serialized from. The caller passes the version {@link ContentVersions#versionOf(long, String) derived} from the
+ * data snapshot, so a lookup hashes no content: a hit whose version still matches is written out as-is; a version
+ * change re-serializes and replaces the entry, so stale bytes are never served.
+ *
+ * <p>A field projection is serialized through a copy of the mapper that filters the properties of posts and comments,
+ * so unrequested fields are never written; it is part of the key and of the ETag.
+ *
+ * <p>Only {@code gzip} is offered besides identity: the JDK has no Brotli encoder.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class SerializedResponseCache {
+
+    static final String GZIP = "gzip";
+
+    private static final String PROJECTION = "projection";
+
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties properties;
+    private final PhaseTimers phaseTimers;
+    private final Cache<Key, Representation> representations;
+    private volatile ObjectMapper projectionMapper;
+
+    @Autowired
+    public SerializedResponseCache(final ObjectMapper objectMapper, final ResponseCacheProperties properties,
+        final PhaseTimers phaseTimers) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.phaseTimers = phaseTimers;
+        this.representations = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumSize().toBytes())
+            .weigher((Key key, Representation representation) -> representation.bytes().length)
+            .recordStats(JfrStatsCounter.of("response"))
+            .build();
+    }
+
+    /**
+     * The representation of {@code body} for a client sending {@code acceptEncoding}, from the cache when it was
+     * serialized from the same {@code contentVersion}; {@code body} is only read on a miss.
+     *
+     * @param filter part of the key distinguishing responses of the same endpoint, e.g. the filter or path value
+     * @param contentVersion version of {@code body}, read before {@code body} itself
+     */
+    public Representation get(final String endpoint, final String filter, final long contentVersion,
+        final Object body, final String acceptEncoding) {
+        return get(endpoint, filter, contentVersion, body, null, acceptEncoding);
+    }
+
+    /**
+     * As {@link #get(String, String, long, Object, String)}, writing only {@code fields} of each post or comment, or
+     * all of them when {@code fields} is {@code null}.
+     */
+    public Representation get(final String endpoint, final String filter, final long contentVersion,
+        final Object body, final Set<String> fields, final String acceptEncoding) {
+        final String projection = fields == null ? null : String.join(",", fields);
+        final long version = projection == null ? contentVersion : 31 * contentVersion + projection.hashCode();
+        final String encoding = properties.isGzip() && accepts(acceptEncoding, GZIP) ? GZIP : null;
+        if (!properties.isEnabled()) {
+            final long start = System.nanoTime();
+            final Representation representation = encode(version, serialize(body, fields), encoding);
+            phaseTimers.request(endpoint, PhaseTimers.SERIALIZE, System.nanoTime() - start);
+            return representation;
+        }
+        final Key key = new Key(endpoint, filter, projection, encoding);
+        final Representation cached = representations.getIfPresent(key);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        final long start = System.nanoTime();
+        final Representation identity = encoding == null ? null : identity(key, version);
+        final Representation representation = encode(version,
+            identity != null ? identity.bytes() : serialize(body, fields), encoding);
+        representations.put(key, representation);
+        phaseTimers.request(endpoint, PhaseTimers.SERIALIZE, System.nanoTime() - start);
+        return representation;
+    }
+
+    private Representation identity(final Key key, final long version) {
+        final Representation identity = representations.getIfPresent(
+            new Key(key.endpoint(), key.filter(), key.projection(), null));
+        return identity != null && identity.version() == version ? identity : null;
+    }
+
+    private Representation encode(final long version, final byte[] json, final String encoding) {
+        if (encoding == null || json.length < properties.getGzipMinSize().toBytes()) {
+            return new Representation(version, null, json);
+        }
+        return new Representation(version, encoding, gzip(json));
+    }
+
+    private byte[] serialize(final Object body, final Set<String> fields) {
+        try {
+            if (fields == null) {
+                return objectMapper.writeValueAsBytes(body);
+            }
+            return projectionMapper().writer(new SimpleFilterProvider()
+                    .addFilter(PROJECTION, SimpleBeanPropertyFilter.filterOutAllExcept(fields)))
+                .writeValueAsBytes(body);
+        } catch (final JsonProcessingException e) {
+            throw new SystemException("Could not serialize the response", 500, e);
+        }
+    }
+
+    /**
+     * Copy of the application mapper with the projection filter on posts and comments, created on first use.
+     */
+    private ObjectMapper projectionMapper() {
+        ObjectMapper mapper = projectionMapper;
+        if (mapper == null) {
+            mapper = objectMapper.copy()
+                .addMixIn(AuditionPost.class, Projectable.class)
+                .addMixIn(Comment.class, Projectable.class);
+            projectionMapper = mapper;
+        }
+        return mapper;
+    }
+
+    private static byte[] gzip(final byte[] json) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Whether {@code acceptEncoding} lists {@code coding} without {@code q=0}.
+     */
+    static boolean accepts(final String acceptEncoding, final String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String part : acceptEncoding.split(",")) {
+            final String[] tokens = part.split(";");
+            if (tokens[0].trim().equalsIgnoreCase(coding)) {
+                return tokens.length < 2 || !tokens[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private record Key(String endpoint, String filter, String projection, String encoding) {
+
+    }
+
+    @JsonFilter(PROJECTION)
+    private abstract static class Projectable {
+
+    }
+
+    /**
+     * Serialized body, compressed with {@code contentEncoding} unless that is {@code null}.
+     */
+    public record Representation(long version, String contentEncoding, byte[] bytes) {
+
+        /**
+         * Strong ETag of this representation; the gzip variant is a different representation and gets its own.
+         */
+        public String etag() {
+            return "\"" + Long.toHexString(version) + (contentEncoding == null ? "" : "-" + contentEncoding) + "\"";
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.audition.web.actuator;
+
+import com.audition.service.AuditionCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes hit/miss/eviction statistics of the upstream caches on {@code /actuator/auditioncache}.
+ */
+@Component
+@Endpoint(id = "auditioncache")
+public class AuditionCacheEndpoint {
+
+    @Autowired
+    private AuditionCache auditionCache;
+
+    @ReadOperation
+    public Map<String, CacheStatistics> statistics() {
+        final Map<String, Long> sizes = auditionCache.sizes();
+        final Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        auditionCache.stats().forEach((name, stats) -> statistics.put(name, CacheStatistics.of(stats, sizes.get(name))));
+        return statistics;
+    }
+
+    @DeleteOperation
+    public void invalidate() {
+        auditionCache.invalidateAll();
+    }
+
+    public record CacheStatistics(long size, long hitCount, long missCount, double hitRate, long evictionCount,
+                                  long evictionWeight, long loadSuccessCount, long loadFailureCount,
+                                  double averageLoadPenaltyMillis) {
+
+        static CacheStatistics of(final CacheStats stats, final Long size) {
+            return new CacheStatistics(size == null ? 0 : size, stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), stats.evictionWeight(), stats.loadSuccessCount(), stats.loadFailureCount(),
+                stats.averageLoadPenalty() / 1_000_000d);
+        }
+    }
+}
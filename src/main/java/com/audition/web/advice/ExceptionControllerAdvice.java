@@ -4,6 +4,7 @@ import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.jfr.ExceptionMappedEvent;
 import com.audition.common.logging.AuditionLogger;
 import io.micrometer.common.util.StringUtils;
 import org.slf4j.Logger;
@@ -23,7 +24,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
 
     public static final String DEFAULT_TITLE = "API Error Occurred";
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
-    private static final String ERROR_MESSAGE = " Error Code from Exception could not be mapped to a valid HttpStatus Code - ";
+    private static final String ERROR_MESSAGE = "Error Code from Exception could not be mapped to a valid HttpStatus Code";
     private static final String DEFAULT_MESSAGE = "API Error occurred. Please contact support or administrator.";
 
     @Autowired
@@ -55,6 +56,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
 
     private ProblemDetail createProblemDetail(final Exception exception,
         final HttpStatusCode statusCode) {
+        ExceptionMappedEvent.emit(exception, statusCode.value());
         final ProblemDetail problemDetail = ProblemDetail.forStatus(statusCode);
         problemDetail.setDetail(getMessageFromException(exception));
         if (exception instanceof SystemException) {
@@ -76,7 +78,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         try {
             return HttpStatusCode.valueOf(exception.getStatusCode());
         } catch (final IllegalArgumentException iae) {
-            logger.info(LOG, ERROR_MESSAGE + exception.getStatusCode());
+            logger.atInfo(LOG).message(ERROR_MESSAGE).field("code", exception.getStatusCode()).log();
             return INTERNAL_SERVER_ERROR;
         }
     }
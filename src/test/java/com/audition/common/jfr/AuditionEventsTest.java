@@ -0,0 +1,49 @@
+package com.audition.common.jfr;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditionEventsTest {
+
+    @Test
+    public void testUrlTemplateDropsIdsAndQueryValues() {
+        assertEquals("/posts", UpstreamCallEvent.template("https://jsonplaceholder.typicode.com/posts"));
+        assertEquals("/posts/{id}/comments", UpstreamCallEvent.template("https://jsonplaceholder.typicode.com/posts/42/comments"));
+        assertEquals("/comments?postId={}", UpstreamCallEvent.template("https://jsonplaceholder.typicode.com/comments?postId=1&postId=2"));
+    }
+
+    @Test
+    public void testCacheActivityIsRecordedWhenEnabled() throws Exception {
+        Cache<String, String> cache = Caffeine.newBuilder().recordStats(JfrStatsCounter.of("test")).build();
+        cache.put("1", "one");
+        Path dump = Files.createTempFile("audition", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CacheActivityEvent.class);
+            recording.start();
+            cache.getIfPresent("1");
+            cache.getIfPresent("2");
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertEquals(List.of("hit", "miss"), events.stream()
+                .filter(event -> "test".equals(event.getString("cache")))
+                .map(event -> event.getString("activity"))
+                .toList());
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditionLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AuditionLoggerTest.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AuditionLogger auditionLogger = new AuditionLogger();
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    public void testFieldsAreRenderedAfterTheMessage() {
+        RuntimeException cause = new RuntimeException("boom");
+
+        auditionLogger.atWarn(logger).message("serving last-known data").field("key", "posts").field("postId", 42L)
+            .field("stale", true).field("status", HttpStatus.BAD_GATEWAY).cause(cause).log();
+
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertEquals("serving last-known data key=posts postId=42 stale=true status=502", event.getFormattedMessage());
+        assertEquals("boom", event.getThrowableProxy().getMessage());
+    }
+
+    @Test
+    public void testBuilderIsReusedAndResetBetweenStatements() {
+        LogEvent first = auditionLogger.atInfo(logger).message("first").field("n", 1L);
+        first.log();
+        LogEvent second = auditionLogger.atInfo(logger).message("second");
+        second.log();
+
+        assertSame(first, second);
+        assertEquals("second", appender.list.get(1).getFormattedMessage());
+        assertNull(appender.list.get(1).getThrowableProxy());
+    }
+
+    @Test
+    public void testDisabledLevelSkipsRendering() {
+        ProblemDetail problem = new ProblemDetail() {
+            @Override
+            public String getDetail() {
+                throw new AssertionError("rendered although DEBUG is off");
+            }
+        };
+
+        auditionLogger.atDebug(logger).message("ignored").problem(problem).log();
+
+        assertSame(LogEvent.DISABLED, auditionLogger.atDebug(logger));
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    public void testProblemDetailIsRenderedAsFields() {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_GATEWAY, "upstream failed");
+        problem.setTitle("Bad Gateway");
+        problem.setInstance(URI.create("/posts/1"));
+
+        auditionLogger.logStandardProblemDetail(logger, problem, new IllegalStateException());
+
+        assertEquals("ProblemDetail: type=about:blank title=Bad Gateway status=502 detail=upstream failed instance=/posts/1",
+            appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void testThrowingFieldReleasesTheBuilder() {
+        LogEvent first = auditionLogger.atInfo(logger).message("first");
+        Object throwingValue = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> first.field("value", throwingValue));
+        LogEvent second = auditionLogger.atInfo(logger).message("second");
+        second.log();
+
+        assertSame(first, second);
+        assertEquals("second", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void testClosedStatementReleasesTheBuilder() {
+        LogEvent first;
+        try (LogEvent event = auditionLogger.atInfo(logger)) {
+            first = event.message("abandoned");
+        }
+        LogEvent second = auditionLogger.atInfo(logger).message("second");
+        second.log();
+
+        assertSame(first, second);
+        assertEquals(1, appender.list.size());
+        assertEquals("second", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void testNestedStatementGetsItsOwnBuilder() {
+        Object loggingValue = new Object() {
+            @Override
+            public String toString() {
+                auditionLogger.atInfo(logger).message("nested").log();
+                return "value";
+            }
+        };
+
+        auditionLogger.atInfo(logger).message("outer").field("value", loggingValue).log();
+
+        assertEquals("nested", appender.list.get(0).getFormattedMessage());
+        assertEquals("outer value=value", appender.list.get(1).getFormattedMessage());
+    }
+}
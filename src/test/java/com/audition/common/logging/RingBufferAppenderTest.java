@@ -0,0 +1,160 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferAppenderTest {
+
+    private LoggerContext context;
+    private RingBufferAppender appender;
+
+    @BeforeEach
+    public void setUp() {
+        context = new LoggerContext();
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("async");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Test
+    public void testEventsAreWrittenInOrderAndFlushedPerBatch() {
+        CountingStream out = new CountingStream();
+        OutputStreamAppender<ILoggingEvent> delegate = new OutputStreamAppender<>();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        delegate.setContext(context);
+        delegate.setEncoder(encoder);
+        delegate.setOutputStream(out);
+        delegate.setImmediateFlush(false);
+        delegate.start();
+        appender.addAppender(delegate);
+        appender.setBatchSize(64);
+        appender.start();
+
+        for (int i = 0; i < 1000; i++) {
+            appender.doAppend(event(Level.INFO, "m" + i));
+        }
+        appender.stop();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1000, lines.length);
+        assertEquals("m0", lines[0]);
+        assertEquals("m999", lines[999]);
+        assertTrue(out.flushes > 0 && out.flushes <= 1000, "flushes: " + out.flushes);
+        assertEquals(1000, appender.getAppended());
+        assertEquals(0, appender.getDroppedBelowWarn());
+    }
+
+    @Test
+    public void testOverflowDropsInsteadOfBlockingTheCaller() throws Exception {
+        BlockedAppender blocked = new BlockedAppender();
+        appender.addAppender(blocked);
+        appender.setCapacity(4);
+        appender.setDiscardingThreshold(0);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "taken"));
+        assertTrue(blocked.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.INFO, "queued" + i));
+        }
+        assertEquals(4, appender.getQueueDepth());
+
+        appender.doAppend(event(Level.INFO, "dropped"));
+        appender.doAppend(event(Level.ERROR, "dropped too"));
+
+        assertEquals(1, appender.getDroppedBelowWarn());
+        assertEquals(1, appender.getDroppedWarnOrAbove());
+        blocked.release.countDown();
+        appender.stop();
+        assertEquals(5, blocked.messages.size());
+        assertFalse(blocked.messages.contains("dropped"));
+    }
+
+    @Test
+    public void testNearlyFullBufferShedsInfoButKeepsWarnings() throws Exception {
+        BlockedAppender blocked = new BlockedAppender();
+        appender.addAppender(blocked);
+        appender.setCapacity(4);
+        appender.setDiscardingThreshold(2);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "taken"));
+        assertTrue(blocked.entered.await(5, TimeUnit.SECONDS));
+        appender.doAppend(event(Level.INFO, "info0"));
+        appender.doAppend(event(Level.INFO, "info1"));
+        // two free slots left: not fewer than the threshold yet
+        appender.doAppend(event(Level.INFO, "info2"));
+        appender.doAppend(event(Level.INFO, "shed"));
+        appender.doAppend(event(Level.WARN, "warn"));
+
+        assertEquals(1, appender.getDroppedBelowWarn());
+        assertEquals(4, appender.getQueueDepth());
+        blocked.release.countDown();
+        appender.stop();
+        assertEquals(List.of("taken", "info0", "info1", "info2", "warn"), blocked.messages);
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    private static final class CountingStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    /**
+     * Holds the worker on the first event until released.
+     */
+    private static final class BlockedAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        BlockedAppender() {
+            start();
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getMessage());
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.audition.common.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PostIdsTest {
+
+    @Test
+    public void testDigitsAreValid() {
+        assertTrue(PostIds.isValid("1"));
+        assertTrue(PostIds.isValid("0042"));
+        assertTrue(PostIds.isValid("99999999999"));
+    }
+
+    @Test
+    public void testAnythingElseIsInvalid() {
+        assertFalse(PostIds.isValid(null));
+        assertFalse(PostIds.isValid(""));
+        assertFalse(PostIds.isValid("abc"));
+        assertFalse(PostIds.isValid("1a"));
+        assertFalse(PostIds.isValid("-1"));
+        assertFalse(PostIds.isValid(" 1"));
+        assertFalse(PostIds.isValid("\u0661"));
+    }
+}
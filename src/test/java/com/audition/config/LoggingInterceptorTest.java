@@ -0,0 +1,87 @@
+package com.audition.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.audition.configuration.HttpLoggingProperties;
+import com.audition.configuration.LoggingInterceptor;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggingInterceptorTest {
+
+    private static final String BODY = "[{\"userId\":1,\"id\":1,\"title\":\"qui est esse\"}]";
+
+    private final Logger interceptorLogger = (Logger) LoggerFactory.getLogger(LoggingInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private HttpLoggingProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        interceptorLogger.addAppender(appender);
+        properties = new HttpLoggingProperties();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        interceptorLogger.detachAppender(appender);
+    }
+
+    @Test
+    public void testSampledBodyIsPeekedWhileStreamingAndCapped() throws Exception {
+        properties.setBodySampleRate(1);
+        properties.setMaxBodySize(DataSize.ofBytes(10));
+
+        ClientHttpResponse response = intercept("/posts");
+        String read = IOUtils.toString(response.getBody(), StandardCharsets.UTF_8);
+        response.close();
+
+        assertEquals(BODY, read);
+        assertTrue(appender.list.stream().anyMatch(e -> e.getFormattedMessage().equals("Response Body (truncated): " + BODY.substring(0, 10))));
+    }
+
+    @Test
+    public void testUnsampledExchangeIsNotWrapped() throws Exception {
+        properties.setBodySampleRate(0);
+
+        ClientHttpResponse response = intercept("/posts");
+        response.close();
+
+        assertTrue(response instanceof MockClientHttpResponse);
+        assertTrue(appender.list.stream().noneMatch(e -> e.getFormattedMessage().startsWith("Response Body")));
+        assertTrue(appender.list.stream().anyMatch(e -> e.getFormattedMessage().startsWith("Request GET")));
+    }
+
+    @Test
+    public void testRouteLevelOffSkipsLogging() throws Exception {
+        properties.getRoutes().put("/posts/*/comments", LogLevel.OFF);
+
+        ClientHttpResponse response = intercept("/posts/1/comments");
+        response.close();
+
+        assertTrue(response instanceof MockClientHttpResponse);
+        assertTrue(appender.list.isEmpty());
+    }
+
+    private ClientHttpResponse intercept(String path) throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost" + path));
+        MockClientHttpResponse upstream = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        return new LoggingInterceptor(properties).intercept(request, new byte[0], (req, body) -> upstream);
+    }
+}
@@ -0,0 +1,79 @@
+package com.audition.config;
+
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.UpstreamTimingInterceptor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamTimingInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private UpstreamTimingInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new UpstreamTimingInterceptor(registry, new PhaseTimers(registry));
+    }
+
+    @Test
+    public void testExchangeIsRecordedOnCloseByRouteAndStatus() throws Exception {
+        ClientHttpResponse response = intercept("/posts/42/comments", HttpStatus.OK);
+
+        assertNull(registry.find("audition.upstream.requests").timer());
+        assertEquals(1, phase("comments", PhaseTimers.FIRST_BYTE).count());
+
+        response.close();
+        response.close();
+
+        Timer exchanges = registry.get("audition.upstream.requests")
+            .tags("route", "comments", "status", "200", "outcome", "SUCCESS").timer();
+        assertEquals(1, exchanges.count());
+    }
+
+    @Test
+    public void testIdsNeverBecomeTagValues() throws Exception {
+        intercept("/posts/1", HttpStatus.NOT_FOUND).close();
+        intercept("/posts/2", HttpStatus.NOT_FOUND).close();
+        intercept("/users/2", HttpStatus.OK).close();
+
+        assertEquals(2, registry.get("audition.upstream.requests")
+            .tags("route", "post", "status", "404", "outcome", "CLIENT_ERROR").timer().count());
+        assertEquals(1, registry.get("audition.upstream.requests").tags("route", "other").timer().count());
+    }
+
+    @Test
+    public void testIoFailureIsRecorded() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/posts"));
+
+        assertThrows(ConnectException.class, () -> interceptor.intercept(request, new byte[0], (req, body) -> {
+            throw new ConnectException("refused");
+        }));
+        assertEquals(1, registry.get("audition.upstream.requests")
+            .tags("route", "posts", "status", "IO_ERROR", "outcome", "UNKNOWN").timer().count());
+    }
+
+    private ClientHttpResponse intercept(String path, HttpStatus status) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost" + path));
+        MockClientHttpResponse upstream = new MockClientHttpResponse("[]".getBytes(StandardCharsets.UTF_8), status);
+        return interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+    }
+
+    private Timer phase(String route, String phase) {
+        return registry.get(PhaseTimers.UPSTREAM).tags("route", route, "phase", phase).timer();
+    }
+}
@@ -2,29 +2,43 @@ package com.audition.integration;
 
 import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.CoalescingProperties;
+import com.audition.configuration.HedgingProperties;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.WebServiceConfiguration;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class AuditionIntegrationClientTest {
@@ -35,11 +49,23 @@ public class AuditionIntegrationClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
+    @Spy
     private AuditionLogger auditionLogger;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    @Spy
+    private ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+
+    @Spy
+    private UpstreamRequestCoalescer requestCoalescer = new UpstreamRequestCoalescer(new CoalescingProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private UpstreamResilience resilience = new UpstreamResilience(new ResilienceProperties(), new SimpleMeterRegistry(), new AuditionLogger());
+
+    @Spy
+    private UpstreamHedger hedger = new UpstreamHedger(new HedgingProperties(), Executors.newCachedThreadPool(), new SimpleMeterRegistry());
+
+    @Spy
+    private PhaseTimers phaseTimers = new PhaseTimers(new SimpleMeterRegistry());
 
     private static final String POSTS_JSON = "https://jsonplaceholder.typicode.com/posts";
     private static final String COMMENTS_JSON = "https://jsonplaceholder.typicode.com/comments";
@@ -52,12 +78,7 @@ public class AuditionIntegrationClientTest {
     @Test
     public void testGetPosts() throws Exception {
         String jsonResponse = "[{\"userId\":1,\"id\":1,\"title\":\"sunt aut facere repellat provident occaecati excepturi optio reprehenderit\",\"body\":\"quia et suscipit\\nsuscipit recusandae consequuntur expedita et cum\\nreprehenderit molestiae ut ut quas totam\\nnostrum rerum est autem sunt rem eveniet architecto\"}]";
-        when(restTemplate.exchange(eq(POSTS_JSON), eq(HttpMethod.GET), any(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
-        when(objectMapper.readValue(jsonResponse, AuditionPost[].class))
-                .thenReturn(new AuditionPost[]{
-                        new AuditionPost(1, 1, "sunt aut facere repellat provident occaecati excepturi optio reprehenderit", "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\nreprehenderit molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto")
-                });
+        respondWith(POSTS_JSON, jsonResponse);
 
         List<AuditionPost> posts = auditionIntegrationClient.getPosts();
 
@@ -70,10 +91,7 @@ public class AuditionIntegrationClientTest {
     public void testGetPostById() throws Exception {
         String id = "1";
         String jsonResponse = "{\"userId\":1,\"id\":1,\"title\":\"sunt aut facere repellat provident occaecati excepturi optio reprehenderit\",\"body\":\"quia et suscipit\\nsuscipit recusandae consequuntur expedita et cum\\nreprehenderit molestiae ut ut quas totam\\nnostrum rerum est autem sunt rem eveniet architecto\"}";
-        when(restTemplate.exchange(eq(POSTS_JSON + "/" + id), eq(HttpMethod.GET), any(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
-        when(objectMapper.readValue(jsonResponse, AuditionPost.class))
-                .thenReturn(new AuditionPost(1, 1, "sunt aut facere repellat provident occaecati excepturi optio reprehenderit", "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\nreprehenderit molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto"));
+        respondWith(POSTS_JSON + "/" + id, jsonResponse);
 
         AuditionPost post = auditionIntegrationClient.getPostById(id);
 
@@ -81,16 +99,22 @@ public class AuditionIntegrationClientTest {
         assertEquals("sunt aut facere repellat provident occaecati excepturi optio reprehenderit", post.getTitle());
     }
 
+    @Test
+    public void testGetPostByIdNotFound() {
+        when(restTemplate.execute(eq(URI.create(POSTS_JSON + "/999")), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        SystemException exception = assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostById("999"));
+
+        assertEquals(404, exception.getStatusCode());
+        assertEquals("Resource Not Found", exception.getTitle());
+    }
+
     @Test
     public void testGetCommentsForPost() throws Exception {
         String postId = "1";
         String jsonResponse = "[{\"postId\":1,\"id\":1,\"name\":\"id labore ex et quam laborum\",\"email\":\"Eliseo@gardner.biz\",\"body\":\"laudantium enim quasi est quidem magnam voluptate ipsam eos\\ntempora quo necessitatibus\\ndolor quam autem quasi\\nreiciendis et nam sapiente accusantium\"}]";
-        when(restTemplate.exchange(eq(POSTS_JSON + "/" + postId + "/comments"), eq(HttpMethod.GET), any(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
-        when(objectMapper.readValue(jsonResponse, Comment[].class))
-                .thenReturn(new Comment[]{
-                        new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium enim quasi est quidem magnam voluptate ipsam eos\ntempora quo necessitatibus\ndolor quam autem quasi\nreiciendis et nam sapiente accusantium")
-                });
+        respondWith(POSTS_JSON + "/" + postId + "/comments", jsonResponse);
 
         List<Comment> comments = auditionIntegrationClient.getCommentsForPost(postId);
 
@@ -103,12 +127,7 @@ public class AuditionIntegrationClientTest {
     public void testGetCommentsForPostByQueryParam() throws Exception {
         String postId = "1";
         String jsonResponse = "[{\"postId\":1,\"id\":1,\"name\":\"id labore ex et quam laborum\",\"email\":\"Eliseo@gardner.biz\",\"body\":\"laudantium enim quasi est quidem magnam voluptate ipsam eos\\ntempora quo necessitatibus\\ndolor quam autem quasi\\nreiciendis et nam sapiente accusantium\"}]";
-        when(restTemplate.exchange(eq(COMMENTS_JSON + "?postId=" + postId), eq(HttpMethod.GET), any(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
-        when(objectMapper.readValue(jsonResponse, Comment[].class))
-                .thenReturn(new Comment[]{
-                        new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium enim quasi est quidem magnam voluptate ipsam eos\ntempora quo necessitatibus\ndolor quam autem quasi\nreiciendis et nam sapiente accusantium")
-                });
+        respondWith(COMMENTS_JSON + "?postId=" + postId, jsonResponse);
 
         List<Comment> comments = auditionIntegrationClient.getCommentsForPostByQueryParam(postId);
 
@@ -116,4 +135,99 @@ public class AuditionIntegrationClientTest {
         assertEquals(1, comments.size());
         assertEquals("id labore ex et quam laborum", comments.get(0).getName());
     }
+
+    @Test
+    public void testStreamCommentsHandsOutRecordsOneByOne() throws Exception {
+        String jsonResponse = "[{\"postId\":1,\"id\":1,\"name\":\"first\"},{\"postId\":1,\"id\":2,\"name\":\"second\",\"unknown\":[1,2]},{\"postId\":2,\"id\":3,\"name\":\"third\"}]";
+        respondWith(COMMENTS_JSON, jsonResponse);
+        List<String> names = new ArrayList<>();
+
+        auditionIntegrationClient.streamComments(comment -> names.add(comment.getName()));
+
+        assertEquals(List.of("first", "second", "third"), names);
+    }
+
+    @Test
+    public void testMalformedJsonIsMappedToSystemException() throws Exception {
+        respondWith(POSTS_JSON, "[{\"userId\":1,\"id\":");
+
+        SystemException exception = assertThrows(SystemException.class, () -> auditionIntegrationClient.getPosts());
+
+        assertEquals(500, exception.getStatusCode());
+        assertEquals("Error while parsing JSON string", exception.getMessage());
+    }
+
+    @Test
+    public void testTruncatedOrMalformedArrayFailsInsteadOfReturningPartialList() throws Exception {
+        String post = "{\"userId\":1,\"id\":1,\"title\":\"qui est esse\",\"body\":\"est rerum tempore vitae\"}";
+
+        for (String body : List.of("[" + post + "," + post, "[" + post + ",", "[" + post + ",1]", "{\"id\":1}")) {
+            respondWith(POSTS_JSON, body);
+
+            SystemException exception = assertThrows(SystemException.class, () -> auditionIntegrationClient.getPosts(), body);
+
+            assertEquals("Error while parsing JSON string", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetCommentsForPostsGroupsOneUpstreamCallByPost() throws Exception {
+        String jsonResponse = "[{\"postId\":1,\"id\":1,\"name\":\"id labore ex et quam laborum\"},{\"postId\":3,\"id\":11,\"name\":\"fugit labore quia mollitia quas deserunt nostrum sunt\"}]";
+        respondWith(COMMENTS_JSON + "?postId=1&postId=2&postId=3", jsonResponse);
+
+        Map<String, List<Comment>> comments = auditionIntegrationClient.getCommentsForPosts(List.of("1", "2", "3"));
+
+        assertEquals(1, comments.get("1").size());
+        assertTrue(comments.get("2").isEmpty());
+        assertEquals(11, comments.get("3").get(0).getId());
+    }
+
+    @Test
+    public void testConditionalStreamReturnsValidatorsAndBodySize() throws Exception {
+        String json = "[{\"userId\":1,\"id\":1,\"title\":\"qui est esse\",\"body\":\"est rerum tempore vitae\"}]";
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getHeaders()).thenReturn(headers);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(restTemplate.execute(eq(URI.create(POSTS_JSON)), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(response));
+
+        List<AuditionPost> posts = new ArrayList<>();
+        ConditionalFetch fetch = auditionIntegrationClient.streamPostsIfChanged(ConditionalFetch.NONE, posts::add);
+
+        assertTrue(fetch.modified());
+        assertEquals("\"v1\"", fetch.etag());
+        assertEquals(json.length(), fetch.bodyBytes());
+        assertEquals(1, posts.size());
+    }
+
+    @Test
+    public void testConditionalStreamSendsValidatorsAndSkipsNotModifiedBody() throws Exception {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.NOT_MODIFIED);
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        when(restTemplate.execute(eq(URI.create(COMMENTS_JSON)), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+                    return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+                });
+
+        ConditionalFetch previous = new ConditionalFetch(true, "\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT", 1024);
+        ConditionalFetch fetch = auditionIntegrationClient.streamCommentsIfChanged(previous, comment -> fail("streamed " + comment));
+
+        assertFalse(fetch.modified());
+        assertEquals("\"v1\"", fetch.etag());
+        assertEquals(List.of("\"v1\""), request.getHeaders().getIfNoneMatch());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", request.getHeaders().getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        verify(response, never()).getBody();
+    }
+
+    private void respondWith(String url, String json) throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(restTemplate.execute(eq(URI.create(url)), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(response));
+    }
 }
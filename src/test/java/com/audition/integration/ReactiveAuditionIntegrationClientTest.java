@@ -0,0 +1,113 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactiveAuditionIntegrationClientTest {
+
+    private static final String POSTS_JSON = "https://jsonplaceholder.typicode.com/posts";
+    private static final String COMMENTS_JSON = "https://jsonplaceholder.typicode.com/comments";
+
+    @InjectMocks
+    private ReactiveAuditionIntegrationClient reactiveIntegrationClient;
+
+    @Spy
+    private AuditionLogger auditionLogger;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testGetPostsStreamsArrayElements() {
+        respondWith(POSTS_JSON, HttpStatus.OK,
+            "[{\"userId\":1,\"id\":1,\"title\":\"sunt aut facere\"},{\"userId\":1,\"id\":2,\"title\":\"qui est esse\"}]");
+
+        StepVerifier.create(reactiveIntegrationClient.getPosts())
+            .assertNext(post -> assertEquals("sunt aut facere", post.getTitle()))
+            .assertNext(post -> assertEquals(2, post.getId()))
+            .verifyComplete();
+    }
+
+    @Test
+    public void testGetCommentsForPostByQueryParam() {
+        respondWith(COMMENTS_JSON + "?postId=1", HttpStatus.OK,
+            "[{\"postId\":1,\"id\":1,\"name\":\"id labore ex et quam laborum\",\"email\":\"Eliseo@gardner.biz\"}]");
+
+        StepVerifier.create(reactiveIntegrationClient.getCommentsForPostByQueryParam("1"))
+            .assertNext(comment -> assertEquals("Eliseo@gardner.biz", comment.getEmail()))
+            .verifyComplete();
+    }
+
+    @Test
+    public void testGetPostByIdNotFoundMapsToSystemException() {
+        respondWith(POSTS_JSON + "/999", HttpStatus.NOT_FOUND, "{}");
+
+        StepVerifier.create(reactiveIntegrationClient.getPostById("999"))
+            .expectErrorSatisfies(e -> {
+                SystemException systemException = assertInstanceOf(SystemException.class, e);
+                assertEquals(404, systemException.getStatusCode());
+                assertEquals("Cannot find a Post with id 999", systemException.getMessage());
+                assertEquals("Resource Not Found", systemException.getTitle());
+            })
+            .verify();
+    }
+
+    @Test
+    public void testClientErrorMapsToSystemException() {
+        respondWith(POSTS_JSON + "/1/comments", HttpStatus.BAD_REQUEST, "{}");
+
+        StepVerifier.create(reactiveIntegrationClient.getCommentsForPost("1"))
+            .expectErrorSatisfies(e -> {
+                SystemException systemException = assertInstanceOf(SystemException.class, e);
+                assertEquals(400, systemException.getStatusCode());
+                assertEquals("HttpClientErrorException occurred while calling URL: " + POSTS_JSON + "/1/comments",
+                    systemException.getMessage());
+            })
+            .verify();
+    }
+
+    @Test
+    public void testMalformedJsonMapsToSystemException() {
+        respondWith(POSTS_JSON, HttpStatus.OK, "[{\"userId\":1,\"id\":");
+
+        StepVerifier.create(reactiveIntegrationClient.getPosts())
+            .expectErrorSatisfies(e -> {
+                SystemException systemException = assertInstanceOf(SystemException.class, e);
+                assertEquals(500, systemException.getStatusCode());
+                assertEquals("Error while parsing JSON string", systemException.getMessage());
+            })
+            .verify();
+    }
+
+    private void respondWith(final String url, final HttpStatus status, final String body) {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                assertEquals(URI.create(url), request.url());
+                return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+            })
+            .build();
+        ReflectionTestUtils.setField(reactiveIntegrationClient, "upstreamWebClient", webClient);
+    }
+}
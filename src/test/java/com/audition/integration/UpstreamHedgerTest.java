@@ -0,0 +1,157 @@
+package com.audition.integration;
+
+import com.audition.configuration.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamHedgerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgingProperties properties;
+    private UpstreamHedger hedger;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMaxDelay(Duration.ofMillis(20));
+        hedger = new UpstreamHedger(properties, executor, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSlowFirstAttemptIsHedgedAndCancelled() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch firstCancelled = new CountDownLatch(1);
+
+        String result = hedger.execute("post", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    firstCancelled.countDown();
+                }
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertTrue(firstCancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("audition.upstream.hedged").tag("endpoint", "post").counter().count());
+    }
+
+    @Test
+    public void testFailedHedgeWaitsForFirstAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute("comments", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(100);
+                return "first";
+            }
+            throw new ResourceAccessException("connection reset");
+        });
+
+        assertEquals("first", result);
+    }
+
+    @Test
+    public void testHedgeRateIsCapped() {
+        properties.setMaxHedgeRate(0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // the budget starts with a single token: one hedged call, then single attempts
+        for (int i = 0; i < 3; i++) {
+            hedger.execute("post", () -> {
+                attempts.incrementAndGet();
+                sleep(50);
+                return "ok";
+            });
+        }
+
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    public void testConcurrentHedgesAreCapped() {
+        properties.setMaxConcurrentHedges(0);
+        hedger = new UpstreamHedger(properties, executor, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute("post", () -> {
+            attempts.incrementAndGet();
+            sleep(50);
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testSaturatedPoolRunsTheCallUnhedgedOnTheCaller() {
+        ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        CountDownLatch release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        hedger = new UpstreamHedger(properties, saturated, meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        try {
+            assertEquals("ok", hedger.execute("post", () -> {
+                assertSame(caller, Thread.currentThread());
+                return "ok";
+            }));
+        } finally {
+            release.countDown();
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEndpointsNotConfiguredAreNotHedged() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        hedger.execute("posts", () -> {
+            attempts.incrementAndGet();
+            sleep(50);
+            return "ok";
+        });
+
+        assertEquals(1, attempts.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
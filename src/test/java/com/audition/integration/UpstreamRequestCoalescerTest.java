@@ -0,0 +1,197 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.CoalescingProperties;
+import com.audition.configuration.HedgingProperties;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamRequestCoalescerTest {
+
+    private static final int CALLERS = 16;
+    private static final String COMMENTS = "[{\"postId\":1,\"id\":1,\"name\":\"id labore ex et quam laborum\",\"email\":\"Eliseo@gardner.biz\",\"body\":\"laudantium enim quasi est quidem magnam voluptate ipsam eos\"}]";
+
+    private final AtomicInteger upstreamHits = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingProperties properties;
+    private UpstreamRequestCoalescer coalescer;
+    private HttpServer server;
+    private ExecutorService callers;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CoalescingProperties();
+        coalescer = new UpstreamRequestCoalescer(properties, meterRegistry);
+        callers = Executors.newFixedThreadPool(CALLERS);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/comments", exchange -> {
+            upstreamHits.incrementAndGet();
+            awaitCoalescedCallers();
+            byte[] body = COMMENTS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void testParallelCallersProduceOneUpstreamHit() throws Exception {
+        AuditionIntegrationClient client = stubbedClient();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Comment>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return client.getCommentsForPostByQueryParam("1");
+            }));
+        }
+        start.countDown();
+
+        for (Future<List<Comment>> result : results) {
+            List<Comment> comments = result.get(10, TimeUnit.SECONDS);
+            assertEquals(1, comments.size());
+            assertEquals("id labore ex et quam laborum", comments.get(0).getName());
+        }
+        assertEquals(1, upstreamHits.get());
+        assertEquals(CALLERS - 1, meterRegistry.counter("audition.upstream.coalesced", "outcome", "shared").count());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void testFailureIsSharedAndKeyIsReleased() {
+        SystemException failure = new SystemException("boom", 502);
+
+        assertThrows(SystemException.class, () -> coalescer.execute("key", () -> {
+            throw failure;
+        }));
+        assertEquals("ok", coalescer.execute("key", () -> "ok"));
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void testAbandoningFollowerFetchesAlone() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(50));
+        properties.setOnAbandon(CoalescingProperties.AbandonPolicy.FETCH_ALONE);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Future<String> leader = callers.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            awaitQuietly(releaseLeader);
+            return "leader";
+        }));
+        leaderStarted.await();
+
+        assertEquals("follower", coalescer.execute("key", () -> "follower"));
+
+        releaseLeader.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.counter("audition.upstream.coalesced", "outcome", "fetched-alone").count());
+        assertEquals(0, meterRegistry.counter("audition.upstream.coalesced", "outcome", "shared").count());
+    }
+
+    @Test
+    public void testSharedListIsReadOnly() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Future<List<String>> leader = callers.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            awaitQuietly(releaseLeader);
+            return new ArrayList<>(List.of("shared"));
+        }));
+        leaderStarted.await();
+        Future<List<String>> follower = callers.submit(() -> coalescer.execute("key", () -> List.of("alone")));
+        while (coalescer.waitingCount() < 1) {
+            Thread.onSpinWait();
+        }
+        releaseLeader.countDown();
+
+        assertThrows(UnsupportedOperationException.class, () -> leader.get(5, TimeUnit.SECONDS).add("mine"));
+        assertThrows(UnsupportedOperationException.class, () -> follower.get(5, TimeUnit.SECONDS).add("mine"));
+        assertEquals(List.of("shared"), follower.get());
+    }
+
+    @Test
+    public void testAbandoningFollowerFailsByDefault() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        callers.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            awaitQuietly(releaseLeader);
+            return "leader";
+        }));
+        leaderStarted.await();
+
+        SystemException exception = assertThrows(SystemException.class, () -> coalescer.execute("key", () -> "follower"));
+        assertEquals(504, exception.getStatusCode());
+        releaseLeader.countDown();
+    }
+
+    private AuditionIntegrationClient stubbedClient() {
+        AuditionIntegrationClient client = new AuditionIntegrationClient();
+        ReflectionTestUtils.setField(client, "restTemplate", new RestTemplate());
+        ReflectionTestUtils.setField(client, "auditionLogger", new AuditionLogger());
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "requestCoalescer", coalescer);
+        ReflectionTestUtils.setField(client, "resilience",
+            new UpstreamResilience(new ResilienceProperties(), meterRegistry, new AuditionLogger()));
+        ReflectionTestUtils.setField(client, "hedger",
+            new UpstreamHedger(new HedgingProperties(), Executors.newCachedThreadPool(), meterRegistry));
+        ReflectionTestUtils.setField(client, "phaseTimers", new PhaseTimers(meterRegistry));
+        client.COMMENTS_JSON = "http://127.0.0.1:" + server.getAddress().getPort() + "/comments";
+        return client;
+    }
+
+    private void awaitCoalescedCallers() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.waitingCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
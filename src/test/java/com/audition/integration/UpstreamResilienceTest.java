@@ -0,0 +1,207 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamResilienceTest {
+
+    private static final String URL = "https://jsonplaceholder.typicode.com/posts";
+
+    private ResilienceProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ResilienceProperties();
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testServerErrorIsRetried() {
+        UpstreamResilience resilience = newResilience();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.execute("posts", URL, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testClientErrorIsNeitherRetriedNorRecorded() {
+        UpstreamResilience resilience = newResilience();
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class, () -> resilience.execute("post", URL + "/999", () -> {
+                attempts.incrementAndGet();
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(5, attempts.get());
+    }
+
+    @Test
+    public void testExhaustedBudgetStopsRetries() {
+        properties.getRetry().setBudgetRatio(0);
+        properties.getRetry().setBudgetMinPerSecond(0.1);
+        UpstreamResilience resilience = newResilience();
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceAccessException.class, () -> resilience.execute("comments", URL, () -> {
+                attempts.incrementAndGet();
+                throw new ResourceAccessException("connect timed out");
+            }));
+        }
+
+        // the bucket starts with one token: one retry, then single attempts
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    public void testFinalFailedAttemptTakesNoBudgetToken() {
+        properties.getRetry().setBudgetRatio(0);
+        properties.getRetry().setBudgetMinPerSecond(0.5);
+        UpstreamResilience resilience = newResilience();
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ResourceAccessException.class, () -> resilience.execute("comments", URL, () -> {
+            attempts.incrementAndGet();
+            throw new ResourceAccessException("connect timed out");
+        }));
+
+        // three attempts are two retries: the bucket of five keeps three tokens
+        assertEquals(3, attempts.get());
+        double available = meterRegistry.get("audition.upstream.retry.budget").gauge().value();
+        assertTrue(available >= 3 && available < 3.5, "available: " + available);
+    }
+
+    @Test
+    public void testOpenBreakerServesLastKnownData() {
+        properties.getRetry().setMaxAttempts(1);
+        UpstreamResilience resilience = newResilience();
+        List<String> known = List.of("qui est esse");
+        resilience.execute("posts", URL, () -> known);
+        // 3 failures out of 4 calls opens the breaker
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceAccessException.class, () -> resilience.execute("posts", URL, () -> {
+                throw new ResourceAccessException("read timed out");
+            }));
+        }
+
+        assertSame(known, resilience.execute("posts", URL, () -> fail("breaker should be open")));
+        SystemException exception = assertThrows(SystemException.class,
+            () -> resilience.execute("posts", URL + "?id=1", () -> fail("breaker should be open")));
+        assertEquals(503, exception.getStatusCode());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state").tag("name", "posts").tag("state", "open").gauge().value());
+    }
+
+    @Test
+    public void testStreamsHaveTheirOwnBulkhead() throws Exception {
+        properties.getBulkhead().setMaxConcurrentCalls(1);
+        properties.getStreamingBulkhead().setMaxConcurrentCalls(1);
+        UpstreamResilience resilience = newResilience();
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread export = new Thread(() -> resilience.executeStreaming("posts", () -> {
+            streaming.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        export.start();
+        assertTrue(streaming.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertEquals("ok", resilience.execute("posts", URL, () -> "ok"));
+            SystemException exception = assertThrows(SystemException.class,
+                () -> resilience.executeStreaming("comments", () -> fail("streaming bulkhead should be full")));
+            assertEquals(503, exception.getStatusCode());
+        } finally {
+            release.countDown();
+            export.join(5_000);
+        }
+    }
+
+    @Test
+    public void testSyncsDoNotCompeteWithExportsForPermits() throws Exception {
+        properties.getStreamingBulkhead().setMaxConcurrentCalls(1);
+        UpstreamResilience resilience = newResilience();
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread export = new Thread(() -> resilience.executeStreaming("posts", () -> {
+            streaming.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        export.start();
+        assertTrue(streaming.await(5, TimeUnit.SECONDS));
+
+        try {
+            AtomicInteger synced = new AtomicInteger();
+            resilience.executeSync("posts", synced::incrementAndGet);
+            assertEquals(1, synced.get());
+        } finally {
+            release.countDown();
+            export.join(5_000);
+        }
+    }
+
+    @Test
+    public void testSlowStreamsDoNotOpenABreaker() {
+        properties.getCircuitBreaker().setSlowCallDurationThreshold(Duration.ofMillis(1));
+        UpstreamResilience resilience = newResilience();
+        for (int i = 0; i < 4; i++) {
+            resilience.executeStreaming("posts", () -> sleep(5));
+        }
+
+        AtomicInteger streamed = new AtomicInteger();
+        resilience.executeStreaming("posts", streamed::incrementAndGet);
+        assertEquals(1, streamed.get());
+        assertEquals("ok", resilience.execute("posts", URL, () -> "ok"));
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state").tag("name", "posts-stream").tag("state", "closed").gauge().value());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private UpstreamResilience newResilience() {
+        return new UpstreamResilience(properties, meterRegistry, new AuditionLogger());
+    }
+}
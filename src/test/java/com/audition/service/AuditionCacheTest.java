@@ -0,0 +1,114 @@
+package com.audition.service;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AuditionCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AuditionIntegrationClient client;
+    private AuditionCache auditionCache;
+
+    @BeforeEach
+    public void setUp() {
+        client = mock(AuditionIntegrationClient.class);
+        CacheProperties properties = new CacheProperties();
+        properties.getPosts().setRefreshAfter(Duration.ofSeconds(60));
+        properties.getPosts().setExpireAfter(Duration.ofMinutes(10));
+        auditionCache = new AuditionCache(client, properties, nanos::get, Runnable::run);
+    }
+
+    @Test
+    public void testGetPostsIsReadThrough() {
+        List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"));
+        when(client.getPosts()).thenReturn(posts);
+
+        assertSame(posts, auditionCache.getPosts());
+        assertSame(posts, auditionCache.getPosts());
+
+        verify(client, times(1)).getPosts();
+        assertEquals(1, auditionCache.stats().get(AuditionCache.POSTS).hitCount());
+        assertEquals(1, auditionCache.stats().get(AuditionCache.POSTS).missCount());
+    }
+
+    @Test
+    public void testStaleEntryIsServedWhileRefreshing() {
+        List<AuditionPost> stale = List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"));
+        List<AuditionPost> fresh = List.of(new AuditionPost(1, 2, "ea molestias quasi", "et iusto sed quo iure"));
+        when(client.getPosts()).thenReturn(stale, fresh);
+
+        assertSame(stale, auditionCache.getPosts());
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertSame(stale, auditionCache.getPosts());
+        assertSame(fresh, auditionCache.getPosts());
+        verify(client, times(2)).getPosts();
+    }
+
+    @Test
+    public void testExpiredEntryIsReloaded() {
+        List<AuditionPost> first = List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"));
+        List<AuditionPost> second = List.of(new AuditionPost(1, 2, "ea molestias quasi", "et iusto sed quo iure"));
+        when(client.getPosts()).thenReturn(first, second);
+
+        assertSame(first, auditionCache.getPosts());
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertSame(second, auditionCache.getPosts());
+    }
+
+    @Test
+    public void testBulkPostLookupFetchesOnlyMissesInOneCall() {
+        AuditionPost cached = new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae");
+        AuditionPost missed = new AuditionPost(1, 2, "ea molestias quasi", "et iusto sed quo iure");
+        when(client.getPostById("1")).thenReturn(cached);
+        when(client.getPostsByIds(Set.of("2", "3"))).thenReturn(Map.of("2", missed));
+        auditionCache.getPostById("1");
+
+        Map<String, AuditionPost> posts = auditionCache.getPostsById(List.of("1", "2", "3"));
+
+        assertSame(cached, posts.get("1"));
+        assertSame(missed, posts.get("2"));
+        assertFalse(posts.containsKey("3"));
+        verify(client, times(1)).getPostsByIds(Set.of("2", "3"));
+    }
+
+    @Test
+    public void testCommentsAreCachedPerPost() {
+        List<Comment> comments = List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium"));
+        when(client.getCommentsForPostByQueryParam("1")).thenReturn(comments);
+
+        assertSame(comments, auditionCache.getComments("1"));
+        assertSame(comments, auditionCache.getComments("1"));
+
+        verify(client, times(1)).getCommentsForPostByQueryParam("1");
+        assertEquals(1L, auditionCache.sizes().get(AuditionCache.COMMENTS));
+    }
+
+    @Test
+    public void testSeededEntriesAreServedWithoutUpstreamCalls() {
+        AuditionPost post = new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae");
+        List<Comment> comments = List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium"));
+
+        auditionCache.seed(List.of(post), Map.of("1", comments));
+
+        assertSame(post, auditionCache.getPosts().get(0));
+        assertSame(post, auditionCache.getPostById("1"));
+        assertSame(comments, auditionCache.getComments("1"));
+        assertEquals(Map.of("1", comments), auditionCache.getAllCachedComments());
+        verifyNoInteractions(client);
+    }
+}
@@ -0,0 +1,74 @@
+package com.audition.service;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.FanOutProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.BulkItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BulkLookupServiceTest {
+
+    @InjectMocks
+    private BulkLookupService bulkLookupService;
+
+    @Mock
+    private AuditionCache auditionCache;
+
+    @Spy
+    private FanOutProperties fanOutProperties = new FanOutProperties();
+
+    private final AuditionPost post1 = new AuditionPost(1, 1, "sunt aut facere", "quia et suscipit");
+    private final AuditionPost post2 = new AuditionPost(1, 2, "qui est esse", "est rerum tempore vitae");
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testResultsFollowRequestOrderWithPerIdStatus() {
+        when(auditionCache.getPostsById(Set.of("1", "2", "999"))).thenReturn(Map.of("1", post1, "2", post2));
+
+        List<BulkItem<AuditionPost>> items = bulkLookupService.getPosts(List.of("2", "abc", "999", "1", "2"));
+
+        assertEquals(List.of("2", "abc", "999", "1", "2"), items.stream().map(BulkItem::getId).toList());
+        assertEquals(List.of(200, 400, 404, 200, 200), items.stream().map(BulkItem::getStatus).toList());
+        assertSame(post2, items.get(0).getData());
+        assertEquals("Cannot find a Post with id 999", items.get(2).getError());
+        verify(auditionCache, times(1)).getPostsById(any());
+    }
+
+    @Test
+    public void testFailedGroupedFetchStillReturnsCachedIds() {
+        when(auditionCache.getPostsById(any())).thenThrow(new SystemException("Error retrieving post", 503));
+        when(auditionCache.getCachedPostsById(Set.of("1", "2"))).thenReturn(Map.of("1", post1));
+
+        List<BulkItem<AuditionPost>> items = bulkLookupService.getPosts(List.of("1", "2"));
+
+        assertEquals(200, items.get(0).getStatus());
+        assertEquals(503, items.get(1).getStatus());
+        assertEquals("Error retrieving post", items.get(1).getError());
+    }
+
+    @Test
+    public void testTooManyIdsIsRejected() {
+        fanOutProperties.setMaxIds(1);
+
+        SystemException exception = assertThrows(SystemException.class, () -> bulkLookupService.getPosts(List.of("1", "2")));
+
+        assertEquals(400, exception.getStatusCode());
+    }
+}
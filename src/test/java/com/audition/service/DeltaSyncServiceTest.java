@@ -0,0 +1,114 @@
+package com.audition.service;
+
+import com.audition.configuration.DeltaSyncProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ConditionalFetch;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DeltaSyncServiceTest {
+
+    private static final ConditionalFetch V1 = new ConditionalFetch(true, "\"v1\"", null, 2048);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditionIntegrationClient client;
+    private AuditionCache auditionCache;
+    private DeltaSyncService deltaSyncService;
+
+    @BeforeEach
+    public void setUp() {
+        client = mock(AuditionIntegrationClient.class);
+        auditionCache = mock(AuditionCache.class);
+        deltaSyncService = new DeltaSyncService(client, auditionCache, new DeltaSyncProperties(), meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnlyChangedRecordsAreApplied() {
+        upstream(List.of(post(1, "qui est esse"), post(2, "ea molestias quasi"), post(3, "eum et est occaecati")),
+            List.of(comment(1, 1, "laudantium"), comment(2, 2, "est natus enim")));
+        deltaSyncService.sync();
+
+        assertEquals(2, deltaSyncService.index().findByUserId(1).size());
+        assertEquals(3, changed("posts", "upserted"));
+        assertEquals(2, changed("comments", "upserted"));
+
+        upstream(List.of(post(1, "qui est esse"), post(2, "ea molestias quasi (edited)")),
+            List.of(comment(1, 1, "laudantium"), comment(3, 2, "quia molestiae")));
+        deltaSyncService.sync();
+
+        assertEquals(4, changed("posts", "upserted"));
+        assertEquals(1, changed("posts", "removed"));
+        assertEquals(3, changed("comments", "upserted"));
+        assertEquals(1, changed("comments", "removed"));
+        assertNull(deltaSyncService.index().get(3));
+        assertEquals("ea molestias quasi (edited)", deltaSyncService.index().get(2).getTitle());
+        ArgumentCaptor<Collection<AuditionPost>> changedPosts = ArgumentCaptor.forClass(Collection.class);
+        verify(auditionCache, times(2)).applyPostChanges(any(), changedPosts.capture(), any());
+        assertEquals(List.of(2), changedPosts.getValue().stream().map(AuditionPost::getId).toList());
+        verify(auditionCache).applyPostChanges(any(), any(), eq(List.of(3)));
+        ArgumentCaptor<Map<String, List<Comment>>> changedComments = ArgumentCaptor.forClass(Map.class);
+        verify(auditionCache, times(2)).applyCommentChanges(changedComments.capture());
+        assertEquals(Set.of("2"), changedComments.getValue().keySet());
+        assertEquals(List.of(3), changedComments.getValue().get("2").stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    public void testNotModifiedResponseSendsPreviousValidatorsAndAppliesNothing() {
+        upstream(List.of(post(1, "qui est esse")), List.of());
+        deltaSyncService.sync();
+        clearInvocations(auditionCache);
+        ConditionalFetch notModified = new ConditionalFetch(false, V1.etag(), null, 0);
+        doReturn(notModified).when(client).streamPostsIfChanged(eq(V1), any());
+        doReturn(notModified).when(client).streamCommentsIfChanged(eq(V1), any());
+
+        deltaSyncService.sync();
+
+        assertEquals(1, meterRegistry.get("audition.sync.not.modified").tag("resource", "posts").counter().count());
+        assertEquals(1, meterRegistry.get("audition.sync.not.modified").tag("resource", "comments").counter().count());
+        verify(auditionCache, never()).applyPostChanges(any(), any(), any());
+        verify(auditionCache, never()).applyCommentChanges(anyMap());
+        assertNotNull(deltaSyncService.index().get(1));
+    }
+
+    private double changed(String resource, String change) {
+        return meterRegistry.get("audition.sync.records.changed").tag("resource", resource).tag("change", change)
+            .counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void upstream(List<AuditionPost> posts, List<Comment> comments) {
+        doAnswer(invocation -> {
+            posts.forEach(invocation.getArgument(1, Consumer.class));
+            return V1;
+        }).when(client).streamPostsIfChanged(any(), any());
+        doAnswer(invocation -> {
+            comments.forEach(invocation.getArgument(1, Consumer.class));
+            return V1;
+        }).when(client).streamCommentsIfChanged(any(), any());
+    }
+
+    private static AuditionPost post(int id, String title) {
+        return new AuditionPost(id < 3 ? 1 : 2, id, title, "est rerum tempore vitae");
+    }
+
+    private static Comment comment(int id, int postId, String body) {
+        return new Comment(id, postId, "id labore ex et quam laborum", "Eliseo@gardner.biz", body);
+    }
+}
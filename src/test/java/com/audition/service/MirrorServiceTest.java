@@ -0,0 +1,100 @@
+package com.audition.service;
+
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+    "application.mirror.enabled=true",
+    "application.mirror.url=jdbc:h2:mem:mirror-test;DB_CLOSE_DELAY=-1",
+    "application.mirror.batch-size=2"
+})
+public class MirrorServiceTest {
+
+    @MockBean
+    private AuditionIntegrationClient client;
+
+    @Autowired
+    private MirrorService mirrorService;
+
+    @Autowired
+    private AuditionService auditionService;
+
+    @BeforeEach
+    public void awaitStartupSync() throws InterruptedException {
+        // the startup sync sees the unstubbed mock, i.e. an empty upstream
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!mirrorService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(mirrorService.isReady());
+    }
+
+    @Test
+    public void testQueriesAreAnsweredFromTheMirror() {
+        upstream(List.of(
+                new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"),
+                new AuditionPost(1, 2, "ea molestias quasi", "et iusto sed quo iure"),
+                new AuditionPost(2, 3, "eum et est occaecati", "ullam et saepe reiciendis")),
+            List.of(
+                new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium"),
+                new Comment(2, 2, "quo vero reiciendis velit", "Jayne_Kuhic@sydney.com", "est natus enim"),
+                new Comment(3, 3, "odio adipisci rerum", "Nikita@garfield.biz", "quia molestiae"),
+                new Comment(null, 3, "without id", "skipped@example.com", "not mirrored")));
+
+        mirrorService.sync();
+
+        assertEquals(List.of(1, 2), mirrorService.findPostsByUserId(1).stream().map(AuditionPost::getId).toList());
+        assertEquals(List.of(2), mirrorService.findPostsByTitle("molestias").stream().map(AuditionPost::getId).toList());
+        assertEquals(List.of(3), mirrorService.findComments(3).stream().map(Comment::getId).toList());
+        assertEquals(List.of(1, 2), mirrorService.findCommentsByUserId(1).stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    public void testRowsMissingUpstreamAreRemovedOnSync() {
+        upstream(List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"),
+                new AuditionPost(1, 2, "ea molestias quasi", "et iusto sed quo iure")),
+            List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium")));
+        mirrorService.sync();
+        long generation = mirrorService.generation();
+
+        upstream(List.of(new AuditionPost(1, 2, "ea molestias quasi (edited)", "et iusto sed quo iure")), List.of());
+        mirrorService.sync();
+
+        assertTrue(mirrorService.generation() > generation);
+
+        List<AuditionPost> posts = mirrorService.findPostsByUserId(1);
+        assertEquals(1, posts.size());
+        assertEquals("ea molestias quasi (edited)", posts.get(0).getTitle());
+        assertTrue(mirrorService.findCommentsByUserId(1).isEmpty());
+    }
+
+    @Test
+    public void testPostIdBeyondIntRangeHasNoComments() {
+        assertTrue(auditionService.getCommentsForPostByQueryParam("99999999999").isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void upstream(List<AuditionPost> posts, List<Comment> comments) {
+        doAnswer(invocation -> {
+            posts.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(client).syncPosts(any());
+        doAnswer(invocation -> {
+            comments.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(client).syncComments(any());
+    }
+}
@@ -0,0 +1,116 @@
+package com.audition.service;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.FanOutProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.Comment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class PostAggregatorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private AuditionCache auditionCache;
+    private FanOutProperties properties;
+    private PostAggregator postAggregator;
+
+    @BeforeEach
+    public void setUp() {
+        auditionCache = mock(AuditionCache.class);
+        properties = new FanOutProperties();
+        postAggregator = new PostAggregator(auditionCache, properties, executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPostAndCommentsAreFetchedConcurrently() {
+        CountDownLatch commentsRequested = new CountDownLatch(1);
+        List<Comment> comments = List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium"));
+        when(auditionCache.getComments("1")).thenAnswer(invocation -> {
+            commentsRequested.countDown();
+            return comments;
+        });
+        when(auditionCache.getPostById("1")).thenAnswer(invocation -> {
+            // only returns if the comments call started while this one is still in flight
+            assertTrue(commentsRequested.await(5, TimeUnit.SECONDS));
+            return new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae");
+        });
+
+        AuditionPostWithComments post = postAggregator.getPostWithComments("1");
+
+        assertEquals("qui est esse", post.getTitle());
+        assertEquals(comments, post.getComments());
+    }
+
+    @Test
+    public void testMissingPostFails() {
+        when(auditionCache.getComments("999")).thenReturn(List.of());
+
+        SystemException exception = assertThrows(SystemException.class, () -> postAggregator.getPostWithComments("999"));
+
+        assertEquals(404, exception.getStatusCode());
+    }
+
+    @Test
+    public void testCommentsLookupIsCancelledWhenPostLookupFails() {
+        List<Runnable> queued = new ArrayList<>();
+        postAggregator = new PostAggregator(auditionCache, properties, queued::add);
+        when(auditionCache.getPostById("1")).thenThrow(new SystemException("Upstream posts is unavailable", 503));
+
+        SystemException exception = assertThrows(SystemException.class, () -> postAggregator.getPostWithComments("1"));
+        queued.forEach(Runnable::run);
+
+        assertEquals(503, exception.getStatusCode());
+        verify(auditionCache, never()).getComments(anyString());
+    }
+
+    @Test
+    public void testBatchIsBoundedByParallelismAndKeepsRequestOrder() {
+        properties.setParallelism(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(auditionCache.getComments(anyString())).thenReturn(List.of());
+        when(auditionCache.getPostById(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            inFlight.decrementAndGet();
+            int id = Integer.parseInt(invocation.getArgument(0));
+            return new AuditionPost(1, id, "title " + id, "body");
+        });
+
+        List<AuditionPostWithComments> posts = postAggregator.getPostsWithComments(List.of("3", "1", "2", "6", "5", "4", "1"));
+
+        assertEquals(List.of(3, 1, 2, 6, 5, 4), posts.stream().map(AuditionPost::getId).toList());
+        assertTrue(maxInFlight.get() <= 2);
+        verify(auditionCache, times(1)).getPostById("1");
+    }
+
+    @Test
+    public void testBatchRejectsTooManyIds() {
+        properties.setMaxIds(2);
+
+        SystemException exception = assertThrows(SystemException.class,
+            () -> postAggregator.getPostsWithComments(List.of("1", "2", "3")));
+
+        assertEquals(400, exception.getStatusCode());
+        verifyNoInteractions(auditionCache);
+    }
+}
@@ -0,0 +1,77 @@
+package com.audition.service.index;
+
+import com.audition.model.AuditionPost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostIndexTest {
+
+    private PostIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = PostIndex.of(List.of(
+                new AuditionPost(1, 1, "sunt aut facere repellat provident occaecati excepturi optio reprehenderit", "quia et suscipit"),
+                new AuditionPost(1, 2, "qui est esse", "est rerum tempore vitae"),
+                new AuditionPost(2, 3, "ea molestias quasi exercitationem repellat qui ipsa sit aut", "et iusto sed quo iure"),
+                new AuditionPost(3, 4, "eum et est occaecati", "ullam et saepe reiciendis")));
+    }
+
+    @Test
+    public void testFindByUserId() {
+        assertEquals(List.of(1, 2), ids(index.findByUserId(1)));
+        assertEquals(List.of(3), ids(index.findByUserId(2)));
+        assertTrue(index.findByUserId(42).isEmpty());
+    }
+
+    @Test
+    public void testFindByTitleMatchesStringContains() {
+        assertEquals(List.of(1, 3), ids(index.findByTitleContaining("repellat")));
+        assertEquals(List.of(1, 4), ids(index.findByTitleContaining("occaecati")));
+        assertEquals(List.of(2, 3), ids(index.findByTitleContaining("qui")));
+        assertEquals(List.of(2, 3, 4), ids(index.findByTitleContaining("est")));
+        assertEquals(List.of(1), ids(index.findByTitleContaining("su")));
+        assertTrue(index.findByTitleContaining("Repellat").isEmpty());
+    }
+
+    @Test
+    public void testCandidatesSharingAllTrigramsAreVerified() {
+        PostIndex tricky = PostIndex.of(List.of(new AuditionPost(1, 1, "abcd bcde", "body")));
+
+        assertTrue(tricky.findByTitleContaining("abcde").isEmpty());
+        assertEquals(List.of(1), ids(tricky.findByTitleContaining("abcd")));
+    }
+
+    @Test
+    public void testFindAfterReturnsKeysetPages() {
+        assertEquals(List.of(1, 2), ids(index.findAfter(Integer.MIN_VALUE, 2)));
+        assertEquals(List.of(3, 4), ids(index.findAfter(2, 2)));
+        assertEquals(List.of(4), ids(index.findAfter(3, Integer.MAX_VALUE)));
+        assertTrue(index.findAfter(4, 2).isEmpty());
+    }
+
+    @Test
+    public void testUpsertAndRemoveUpdatePostings() {
+        index.upsert(new AuditionPost(5, 2, "brand new title", "body"));
+
+        assertEquals(List.of(2), ids(index.findByUserId(5)));
+        assertEquals(List.of(1), ids(index.findByUserId(1)));
+        assertEquals(List.of(3), ids(index.findByTitleContaining("qui")));
+        assertEquals(List.of(2), ids(index.findByTitleContaining("new")));
+
+        assertTrue(index.remove(2));
+        assertFalse(index.remove(2));
+        assertTrue(index.findByUserId(5).isEmpty());
+        assertTrue(index.findByTitleContaining("new").isEmpty());
+        assertEquals(3, index.size());
+        assertNull(index.get(2));
+    }
+
+    private static List<Integer> ids(List<AuditionPost> posts) {
+        return posts.stream().map(AuditionPost::getId).toList();
+    }
+}
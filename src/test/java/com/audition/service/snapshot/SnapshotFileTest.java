@@ -0,0 +1,82 @@
+package com.audition.service.snapshot;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path path = directory.resolve("audition.snapshot");
+        Snapshot written = new Snapshot(1_700_000_000_000L,
+            List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"), new AuditionPost(2, 2, "ünïcödé", null)),
+            Map.of("1", List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium"),
+                new Comment(null, null, null, null, ""))));
+
+        SnapshotFile.write(path, written);
+        Snapshot read = SnapshotFile.read(path);
+
+        assertEquals(written.createdAtMillis(), read.createdAtMillis());
+        assertEquals(2, read.posts().size());
+        assertEquals("ünïcödé", read.posts().get(1).getTitle());
+        assertNull(read.posts().get(1).getBody());
+        assertEquals(written.comments().get("1").toString(), read.comments().get("1").toString());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    public void testCorruptedPayloadIsRejected() throws IOException {
+        Path path = write();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> SnapshotFile.read(path));
+        assertTrue(e.getMessage().startsWith("Checksum mismatch"));
+    }
+
+    @Test
+    public void testTruncatedFileIsRejected() throws IOException {
+        Path path = write();
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        IOException e = assertThrows(IOException.class, () -> SnapshotFile.read(path));
+        assertTrue(e.getMessage().endsWith("is truncated"));
+    }
+
+    @Test
+    public void testUnknownVersionIsRejected() throws IOException {
+        Path path = write();
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(4, SnapshotFile.VERSION + 1);
+        Files.write(path, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> SnapshotFile.read(path));
+        assertTrue(e.getMessage().startsWith("Unsupported snapshot version"));
+    }
+
+    private Path write() throws IOException {
+        Path path = directory.resolve("audition.snapshot");
+        SnapshotFile.write(path, new Snapshot(System.currentTimeMillis(),
+            List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae")), Map.of()));
+        return path;
+    }
+}
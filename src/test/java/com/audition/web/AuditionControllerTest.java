@@ -1,5 +1,6 @@
 package com.audition.web;
 
+import com.audition.common.exception.ExpectedException;
 import com.audition.common.exception.SystemException;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
@@ -13,15 +14,30 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -42,6 +58,10 @@ public class AuditionControllerTest {
     public void setup() {
         MockitoAnnotations.openMocks(this);
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        // every test serves a snapshot of its own, so no test sees responses cached by another
+        long snapshot = System.nanoTime();
+        when(auditionService.postsVersion(anyBoolean())).thenReturn(snapshot);
+        when(auditionService.commentsVersion(anyString())).thenReturn(snapshot);
     }
 
     @Test
@@ -82,9 +102,22 @@ public class AuditionControllerTest {
         mockMvc.perform(get("/posts/999")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Post not found"));
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Post not found"));
     }
     
+    @Test
+    public void testInvalidPostIdIsRejectedBeforeLookupWithoutStackTrace() throws Exception {
+        mockMvc.perform(get("/posts/abc")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.detail").value("Invalid post ID"));
+
+        verify(auditionService, never()).getPostById(anyString());
+        assertEquals(0, ExpectedException.INVALID_POST_ID.getStackTrace().length);
+    }
+
     @Test
     public void testGetComments() throws Exception {
         Comment comment1 = new Comment(10, 46, "dignissimos et deleniti voluptate et quod", "Jeremy.Harann@waino.me", "exercitationem et id quae cum omnis\nvoluptatibus accusantium et quidem\nut ipsam sint\ndoloremque illo ex atque necessitatibus sed");
@@ -107,4 +140,138 @@ public class AuditionControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    @Test
+    public void testMatchingIfNoneMatchReturnsNotModified() throws Exception {
+        List<AuditionPost> posts = List.of(new AuditionPost(1, 2, "qui est esse", "est rerum tempore vitae"));
+        when(auditionService.getPosts()).thenReturn(posts);
+
+        String etag = mockMvc.perform(get("/posts"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotNull(etag);
+        mockMvc.perform(get("/posts").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testETagFollowsSnapshot() throws Exception {
+        when(auditionService.commentsVersion("1")).thenReturn(1L);
+        when(auditionService.getCommentsForPostByQueryParam("1"))
+                .thenReturn(List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium")));
+        String before = mockMvc.perform(get("/posts/1/comments")).andReturn().getResponse().getHeader("ETag");
+
+        when(auditionService.commentsVersion("1")).thenReturn(2L);
+        when(auditionService.getCommentsForPostByQueryParam("1"))
+                .thenReturn(List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium (edited)")));
+
+        mockMvc.perform(get("/posts/1/comments").header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].body").value("laudantium (edited)"));
+    }
+
+    @Test
+    public void testLimitReturnsKeysetPageWithNextLink() throws Exception {
+        when(auditionService.getPostsAfter(Integer.MIN_VALUE, 3)).thenReturn(List.of(
+                new AuditionPost(1, 1, "first", "a"), new AuditionPost(1, 2, "second", "b"), new AuditionPost(1, 3, "third", "c")));
+        String cursor = ListOptions.cursorAfter(2);
+
+        mockMvc.perform(get("/posts").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(header().string("Link", "<http://localhost/posts?limit=2&cursor=" + cursor + ">; rel=\"next\""));
+
+        when(auditionService.getPostsAfter(2, 3)).thenReturn(List.of(new AuditionPost(1, 3, "third", "c")));
+
+        mockMvc.perform(get("/posts").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(header().doesNotExist("Link"));
+
+        mockMvc.perform(get("/posts").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testCommentPagesFollowIdOrderWhateverTheUpstreamOrder() throws Exception {
+        when(auditionService.getCommentsForPostByQueryParam("1")).thenReturn(List.of(
+                new Comment(3, 1, "third", "c@example.com", "c"),
+                new Comment(null, 1, "without id", "n@example.com", "n"),
+                new Comment(1, 1, "first", "a@example.com", "a"),
+                new Comment(4, 1, "fourth", "d@example.com", "d"),
+                new Comment(2, 1, "second", "b@example.com", "b")));
+        String cursor = ListOptions.cursorAfter(2);
+
+        mockMvc.perform(get("/posts/1/comments").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(header().string("Link", "<http://localhost/posts/1/comments?limit=2&cursor=" + cursor + ">; rel=\"next\""));
+
+        mockMvc.perform(get("/posts/1/comments").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(4))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    public void testFieldsProjectsResponse() throws Exception {
+        when(auditionService.getCommentsForPostByQueryParam("1"))
+                .thenReturn(List.of(new Comment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium")));
+
+        mockMvc.perform(get("/posts/1/comments").param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("Eliseo@gardner.biz"))
+                .andExpect(jsonPath("$[0].body").doesNotExist());
+
+        mockMvc.perform(get("/posts/1/comments").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testFilterWithDigitsAndLettersSearchesTitles() throws Exception {
+        when(auditionService.getPostsByTitle("abc1")).thenReturn(List.of(new AuditionPost(1, 7, "abc1 in a title", "body")));
+
+        mockMvc.perform(get("/posts").param("filterParam", "abc1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7));
+
+        verify(auditionService, never()).getPostsByUserId(anyInt());
+    }
+
+    @Test
+    public void testNumericFilterBeyondIntRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/posts").param("filterParam", "99999999999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid filter param : 99999999999"));
+
+        verify(auditionService, never()).getPostsByUserId(anyInt());
+    }
+
+    @Test
+    public void testExportPostsStreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AuditionPost> consumer = invocation.getArgument(0);
+            consumer.accept(new AuditionPost(1, 1, "first", "a"));
+            consumer.accept(new AuditionPost(2, 2, "second", "b"));
+            return null;
+        }).when(auditionService).exportPosts(any());
+
+        MvcResult result = mockMvc.perform(get("/export/posts"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"userId\":1,\"id\":1,\"title\":\"first\",\"body\":\"a\"}\n"
+                        + "{\"userId\":2,\"id\":2,\"title\":\"second\",\"body\":\"b\"}\n"));
+    }
 }
@@ -0,0 +1,82 @@
+package com.audition.web;
+
+import com.audition.common.exception.ExpectedException;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.service.AuditionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "application.reactive.enabled=true")
+public class ReactiveAuditionControllerTest {
+
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuditionService auditionService;
+
+    @MockBean
+    private ReactiveAuditionIntegrationClient reactiveIntegrationClient;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    public void testUpstreamNotFoundHasTheSameBodyOnBothControllers() throws Exception {
+        // what both clients map an upstream 404 for a post lookup to
+        ExpectedException notFound = new ExpectedException("Cannot find a Post with id 4242", "Resource Not Found", 404);
+        when(auditionService.getPostById("4242")).thenThrow(notFound);
+        when(reactiveIntegrationClient.getPostById("4242")).thenReturn(Mono.error(notFound));
+
+        expectNotFoundProblem(mockMvc.perform(get("/posts/4242")));
+
+        MvcResult reactive = mockMvc.perform(get("/reactive/posts/4242"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        expectNotFoundProblem(mockMvc.perform(asyncDispatch(reactive)));
+    }
+
+    @Test
+    public void testInvalidPostIdHasTheSameBodyOnBothControllers() throws Exception {
+        expectInvalidIdProblem(mockMvc.perform(get("/posts/abc")));
+
+        MvcResult reactive = mockMvc.perform(get("/reactive/posts/abc"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        expectInvalidIdProblem(mockMvc.perform(asyncDispatch(reactive)));
+    }
+
+    private static void expectNotFoundProblem(ResultActions actions) throws Exception {
+        actions.andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.status").value(404))
+            .andExpect(jsonPath("$.title").value("Resource Not Found"))
+            .andExpect(jsonPath("$.detail").value("Cannot find a Post with id 4242"))
+            .andExpect(jsonPath("$.message").doesNotExist());
+    }
+
+    private static void expectInvalidIdProblem(ResultActions actions) throws Exception {
+        actions.andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400))
+            .andExpect(jsonPath("$.detail").value("Invalid post ID"));
+    }
+}
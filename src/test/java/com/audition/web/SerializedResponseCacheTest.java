@@ -0,0 +1,82 @@
+package com.audition.web;
+
+import com.audition.common.metrics.PhaseTimers;
+import com.audition.configuration.ResponseCacheProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SerializedResponseCacheTest {
+
+    private ObjectMapper objectMapper;
+    private ResponseCacheProperties properties;
+    private SerializedResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = spy(new WebServiceConfiguration().objectMapper());
+        properties = new ResponseCacheProperties();
+        properties.setGzipMinSize(DataSize.ofBytes(0));
+        cache = new SerializedResponseCache(objectMapper, properties, new PhaseTimers(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void testUnchangedVersionIsSerializedOnce() throws Exception {
+        List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"));
+
+        SerializedResponseCache.Representation first = cache.get("posts", "", 1, posts, null);
+        SerializedResponseCache.Representation second = cache.get("posts", "", 1, new ArrayList<>(posts), null);
+
+        assertSame(first, second);
+        assertEquals(objectMapper.writeValueAsString(posts), new String(first.bytes(), StandardCharsets.UTF_8));
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
+
+    @Test
+    public void testChangedVersionReplacesTheEntry() {
+        SerializedResponseCache.Representation before =
+            cache.get("posts", "", 1, List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae")), null);
+        SerializedResponseCache.Representation after =
+            cache.get("posts", "", 2, List.of(new AuditionPost(1, 1, "qui est esse (edited)", "est rerum tempore vitae")), null);
+
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(new String(after.bytes(), StandardCharsets.UTF_8).contains("(edited)"));
+    }
+
+    @Test
+    public void testGzipVariantReusesTheIdentityBytes() throws IOException {
+        List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "qui est esse", "est rerum tempore vitae"));
+        SerializedResponseCache.Representation identity = cache.get("posts", "", 1, posts, "identity");
+        SerializedResponseCache.Representation gzip = cache.get("posts", "", 1, posts, "br;q=1.0, gzip;q=0.8");
+
+        assertEquals("gzip", gzip.contentEncoding());
+        assertNotEquals(identity.etag(), gzip.etag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.bytes()))) {
+            assertArrayEquals(identity.bytes(), in.readAllBytes());
+        }
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
+
+    @Test
+    public void testAcceptEncodingParsing() {
+        assertTrue(SerializedResponseCache.accepts("gzip, deflate, br", "gzip"));
+        assertTrue(SerializedResponseCache.accepts("GZIP;q=0.5", "gzip"));
+        assertFalse(SerializedResponseCache.accepts("gzip;q=0", "gzip"));
+        assertFalse(SerializedResponseCache.accepts("deflate", "gzip"));
+        assertFalse(SerializedResponseCache.accepts(null, "gzip"));
+    }
+}